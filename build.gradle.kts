@@ -32,10 +32,32 @@ repositories {
     maven("https://repo.extendedclip.com/releases/") // PlaceholderAPI
 }
 
+// Microbenchmarks: a main-based harness in src/benchmark, run with ./gradlew benchmark [-Psuite=<name>]
+sourceSets {
+    create("benchmark") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+// The benchmarks and tests run outside a server, so they need the server API at runtime too
+configurations {
+    named("benchmarkImplementation") {
+        extendsFrom(configurations.compileOnly.get())
+    }
+    testImplementation {
+        extendsFrom(configurations.compileOnly.get())
+    }
+}
+
 // Dependencies
 dependencies {
     compileOnly("io.papermc.paper:paper-api:" + (property("paperVersion") as String) + "-R0.1-SNAPSHOT")
     compileOnly("me.clip:placeholderapi:2.11.6")
+
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 // run-paper plugin configuration
@@ -43,6 +65,20 @@ tasks {
     runServer {
         minecraftVersion("1.21")
     }
+
+    test {
+        useJUnitPlatform()
+    }
+}
+
+// Microbenchmarks
+tasks.register<JavaExec>("benchmark") {
+    group = "verification"
+    description = "Runs the microbenchmarks in src/benchmark."
+    classpath = sourceSets["benchmark"].runtimeClasspath
+    mainClass.set("com.lyttledev.lyttleutils.benchmark.Benchmarks")
+    (findProperty("suite") as String?)?.let { args(it) }
+    jvmArgs("-Xms1g", "-Xmx1g")
 }
 
 // Compile options
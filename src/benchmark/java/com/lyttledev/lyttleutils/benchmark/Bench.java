@@ -0,0 +1,113 @@
+package com.lyttledev.lyttleutils.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Minimal microbenchmark runner: warms an operation up, then reports the average time and allocation
+ * per operation over a few measured rounds. Not as rigorous as JMH, but enough to compare two
+ * implementations run side by side in the same JVM.
+ * <p>
+ * Allocation is read from the HotSpot per-thread counter and is reported as -1 where that is not available.
+ */
+public final class Bench {
+    private static final long WARMUP_NANOS = TimeUnit.MILLISECONDS.toNanos(1000);
+    private static final long ROUND_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final int ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+            && threads.isThreadAllocatedMemorySupported() ? threads : null;
+
+    // Results are stored here so the JIT cannot drop the measured work
+    public static Object sink;
+
+    /**
+     * A batch of work that can throw, e.g. file I/O.
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    /**
+     * Print a section header.
+     *
+     * @param title The section title
+     */
+    public void section(String title) {
+        System.out.println();
+        System.out.println("== " + title);
+    }
+
+    /**
+     * Measure an operation that can be repeated any number of times.
+     *
+     * @param name      The name to report
+     * @param operation The operation; its result is kept alive
+     */
+    public void measure(String name, Supplier<?> operation) {
+        long end = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < 1000; i++) sink = operation.get();
+        }
+
+        double bestNanos = Double.MAX_VALUE;
+        double bytes = -1;
+        for (int round = 0; round < ROUNDS; round++) {
+            long operations = 0;
+            long allocatedBefore = _allocated();
+            long start = System.nanoTime();
+            long roundEnd = start + ROUND_NANOS;
+            long now;
+            do {
+                for (int i = 0; i < 1000; i++) sink = operation.get();
+                operations += 1000;
+            } while ((now = System.nanoTime()) < roundEnd);
+            long allocatedAfter = _allocated();
+
+            bestNanos = Math.min(bestNanos, (double) (now - start) / operations);
+            if (allocatedBefore >= 0) bytes = (double) (allocatedAfter - allocatedBefore) / operations;
+        }
+        _report(name, bestNanos, bytes);
+    }
+
+    /**
+     * Measure a batch of work that has to be set up again for every round, like filling an empty store.
+     *
+     * @param name       The name to report
+     * @param operations The number of operations the batch performs, to report per-operation numbers
+     * @param rounds     The number of rounds; the first one is a warmup and not reported
+     * @param setup      Prepares a round, not measured
+     * @param batch      The measured work
+     */
+    public void measureBatch(String name, int operations, int rounds, Task setup, Task batch) throws Exception {
+        double bestNanos = Double.MAX_VALUE;
+        double bytes = -1;
+        for (int round = 0; round < rounds; round++) {
+            setup.run();
+            long allocatedBefore = _allocated();
+            long start = System.nanoTime();
+            batch.run();
+            long elapsed = System.nanoTime() - start;
+            long allocatedAfter = _allocated();
+            if (round == 0 && rounds > 1) continue;
+
+            bestNanos = Math.min(bestNanos, (double) elapsed / operations);
+            if (allocatedBefore >= 0) bytes = (double) (allocatedAfter - allocatedBefore) / operations;
+        }
+        _report(name, bestNanos, bytes);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Report
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static long _allocated() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static void _report(String name, double nanos, double bytes) {
+        System.out.printf("%-56s %14.1f ns/op %14.1f B/op%n", name, nanos, bytes);
+    }
+}
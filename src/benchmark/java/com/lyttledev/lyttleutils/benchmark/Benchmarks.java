@@ -0,0 +1,45 @@
+package com.lyttledev.lyttleutils.benchmark;
+
+import com.lyttledev.lyttleutils.types.ConfigPathBenchmark;
+import com.lyttledev.lyttleutils.types.LogStoreBenchmark;
+import com.lyttledev.lyttleutils.types.YamlLoadBenchmark;
+import com.lyttledev.lyttleutils.utils.communication.CleanupBenchmark;
+import com.lyttledev.lyttleutils.utils.communication.ReplacementsBenchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entry point of the microbenchmarks, run with {@code ./gradlew benchmark}.
+ * Pass {@code -Psuite=<name>} to run a single suite.
+ */
+public final class Benchmarks {
+    /**
+     * A group of related measurements.
+     */
+    @FunctionalInterface
+    public interface Suite {
+        void run(Bench bench) throws Exception;
+    }
+
+    private Benchmarks() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Suite> suites = new LinkedHashMap<>();
+        suites.put("replacements", ReplacementsBenchmark::run);
+        suites.put("cleanup", CleanupBenchmark::run);
+        suites.put("logstore", LogStoreBenchmark::run);
+        suites.put("configpath", ConfigPathBenchmark::run);
+        suites.put("yaml", YamlLoadBenchmark::run);
+
+        if (args.length > 0 && !suites.containsKey(args[0])) {
+            throw new IllegalArgumentException("Unknown suite " + args[0] + ", expected one of " + suites.keySet());
+        }
+
+        Bench bench = new Bench();
+        for (Map.Entry<String, Suite> suite : suites.entrySet()) {
+            if (args.length > 0 && !suite.getKey().equals(args[0])) continue;
+            suite.getValue().run(bench);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.lyttledev.lyttleutils.types;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.lyttledev.lyttleutils.benchmark.Bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+/**
+ * JsonConfig string lookups at paths of 1, 3 and 5 segments: the old walk that split the path on every
+ * call, against getString(String), which goes through the interned ConfigPath, and getString(ConfigPath)
+ * with the path kept in a constant.
+ * <p>
+ * The getters also run the throttled external-change check of JsonConfig, which the old walk here does
+ * not, so the walk over the pre-split segments is measured on its own as well.
+ */
+public final class ConfigPathBenchmark {
+    private static final int[] DEPTHS = {1, 3, 5};
+    private static final Logger LOGGER = Logger.getLogger("ConfigPathBenchmark");
+
+    /**
+     * JsonConfig needs a data class; the benchmark only uses its path API.
+     */
+    public static final class Data {}
+
+    private ConfigPathBenchmark() {}
+
+    public static void run(Bench bench) throws IOException {
+        Path file = Files.createTempFile("lyttleutils-configpath", ".json");
+        try {
+            for (int depth : DEPTHS) {
+                bench.section("JsonConfig.getString, " + depth + (depth == 1 ? " segment" : " segments"));
+
+                String path = _path(depth);
+                Files.delete(file);
+                JsonConfig<Data> config = new JsonConfig<>(file, LOGGER, Data.class);
+                config.set(path, "value");
+                JsonObject tree = JsonParser.parseString(Files.readString(file)).getAsJsonObject();
+                ConfigPath configPath = ConfigPath.of(path);
+
+                bench.measure("String path, split per call (before)", () -> _getStringBefore(tree, path));
+                bench.measure("getString(String)", () -> config.getString(path));
+                bench.measure("getString(ConfigPath)", () -> config.getString(configPath));
+                bench.measure("ConfigPath segments, walk only", () -> _getString(tree, configPath.parts()));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String _path(int depth) {
+        StringBuilder path = new StringBuilder("messages");
+        for (int i = 1; i < depth; i++) {
+            path.append(".level").append(i);
+        }
+        return path.toString();
+    }
+
+    /**
+     * The getString path walk JsonConfig used before ConfigPath.
+     */
+    private static String _getStringBefore(JsonObject obj, String path) {
+        return _getString(obj, path.split("\\."));
+    }
+
+    private static String _getString(JsonObject obj, String[] parts) {
+        JsonElement current = obj;
+        for (String part : parts) {
+            if (current == null || !current.isJsonObject()) return null;
+            JsonObject currentObj = current.getAsJsonObject();
+            if (!currentObj.has(part)) return null;
+            current = currentObj.get(part);
+        }
+        return (current != null && current.isJsonPrimitive()) ? current.getAsString() : null;
+    }
+}
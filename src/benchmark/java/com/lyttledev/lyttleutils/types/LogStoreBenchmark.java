@@ -0,0 +1,119 @@
+package com.lyttledev.lyttleutils.types;
+
+import com.lyttledev.lyttleutils.benchmark.Bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * LogStore against JsonConfig with 10k and 100k stored keys (shaped like per-player data):
+ * single sets into a filled store, gets, and loading the file again (log replay against JSON parsing).
+ * <p>
+ * A JsonConfig set rewrites the whole file, so it is measured over far fewer sets than a LogStore set.
+ */
+public final class LogStoreBenchmark {
+    private static final int[] KEY_COUNTS = {10_000, 100_000};
+    private static final int LOG_SETS = 10_000;
+    private static final Logger LOGGER = Logger.getLogger("LogStoreBenchmark");
+
+    /**
+     * JsonConfig needs a data class; the benchmark only uses its path API.
+     */
+    public static final class Data {}
+
+    private LogStoreBenchmark() {}
+
+    public static void run(Bench bench) throws Exception {
+        Path directory = Files.createTempDirectory("lyttleutils-logstore");
+        try {
+            for (int keys : KEY_COUNTS) {
+                bench.section("LogStore vs JsonConfig, " + keys + " keys");
+                Path log = directory.resolve("store-" + keys + ".log");
+                Path json = directory.resolve("store-" + keys + ".json");
+                int jsonSets = keys >= 100_000 ? 10 : 50;
+
+                // Set: one value at a time into a store that already holds all keys
+                LogStore[] store = new LogStore[1];
+                bench.measureBatch("LogStore.set", LOG_SETS, 3, () -> {
+                    if (store[0] != null) store[0].close();
+                    Files.deleteIfExists(log);
+                    store[0] = _filledStore(log, keys);
+                }, () -> {
+                    for (int i = 0; i < LOG_SETS; i++) {
+                        store[0].set(_key(i * 7 % keys), i);
+                    }
+                });
+
+                JsonConfig<?>[] config = new JsonConfig<?>[1];
+                bench.measureBatch("JsonConfig.set", jsonSets, 3, () -> {
+                    Files.deleteIfExists(json);
+                    config[0] = _filledConfig(json, keys);
+                }, () -> {
+                    for (int i = 0; i < jsonSets; i++) {
+                        config[0].set(_key(i * 7 % keys), i);
+                    }
+                });
+
+                // Get: random keys from the loaded store
+                String[] names = new String[keys];
+                for (int i = 0; i < keys; i++) {
+                    names[i] = _key(i);
+                }
+                int[] next = new int[1];
+                bench.measure("LogStore.getInt", () -> store[0].getInt(names[next[0]++ % keys], 0));
+                bench.measure("JsonConfig.getInt", () -> config[0].getInt(names[next[0]++ % keys], 0));
+
+                // Load: open the files again and read one key, which replays the log or parses the JSON
+                store[0].close();
+                bench.measureBatch("LogStore replay (per key)", keys, 4, () -> {}, () -> {
+                    Bench.sink = new LogStore(log, LOGGER).getInt(names[0], 0);
+                });
+                bench.measureBatch("JsonConfig parse (per key)", keys, 4, () -> {}, () -> {
+                    Bench.sink = new JsonConfig<>(json, LOGGER, Data.class).getInt(names[0], 0);
+                });
+            }
+        } finally {
+            _delete(directory);
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Data
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static String _key(int index) {
+        return "players.p" + index + ".coins";
+    }
+
+    private static LogStore _filledStore(Path file, int keys) {
+        LogStore store = new LogStore(file, LOGGER);
+        store.update(editor -> {
+            for (int i = 0; i < keys; i++) {
+                editor.set(_key(i), i);
+            }
+        });
+        return store;
+    }
+
+    private static JsonConfig<?> _filledConfig(Path file, int keys) {
+        JsonConfig<Data> config = new JsonConfig<>(file, LOGGER, Data.class);
+        config.update(editor -> {
+            for (int i = 0; i < keys; i++) {
+                editor.set(_key(i), i);
+            }
+        });
+        return config;
+    }
+
+    private static void _delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
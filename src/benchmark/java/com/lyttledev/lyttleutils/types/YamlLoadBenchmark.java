@@ -0,0 +1,93 @@
+package com.lyttledev.lyttleutils.types;
+
+import com.lyttledev.lyttleutils.benchmark.Bench;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * Loading a generated 5 MB YAML file (per-player data, with a type tag on some lines): the old path that
+ * read the file into a String and cleaned it with replaceAll("!!.+", ""), against streaming it through
+ * TagStrippingReader while computing its checksum. Cleaning is measured on its own and as part of a full
+ * YamlConfiguration load; times and allocations are per load of the whole file.
+ */
+public final class YamlLoadBenchmark {
+    private static final int TARGET_BYTES = 5 * 1024 * 1024;
+    private static final int ROUNDS = 6;
+
+    private YamlLoadBenchmark() {}
+
+    public static void run(Bench bench) throws Exception {
+        Path file = Files.createTempFile("lyttleutils-yaml", ".yml");
+        try {
+            _generate(file);
+            bench.section("YAML load, " + Files.size(file) / 1024 + " KB file");
+
+            bench.measureBatch("clean: readString + replaceAll (before)", 1, ROUNDS, () -> {}, () -> {
+                Bench.sink = Files.readString(file).replaceAll("!!.+", "");
+            });
+            bench.measureBatch("clean: TagStrippingReader + checksum", 1, ROUNDS, () -> {}, () -> {
+                Bench.sink = _streamClean(file);
+            });
+
+            bench.measureBatch("load: replaceAll + loadFromString (before)", 1, ROUNDS, () -> {}, () -> {
+                String original = Files.readString(file);
+                String cleaned = original.replaceAll("!!.+", "");
+                YamlConfiguration config = new YamlConfiguration();
+                config.loadFromString(cleaned);
+                Bench.sink = cleaned.equals(original) ? config : cleaned;
+            });
+            bench.measureBatch("load: TagStrippingReader + load(Reader)", 1, ROUNDS, () -> {}, () -> {
+                CheckedInputStream input = new CheckedInputStream(Files.newInputStream(file), new CRC32C());
+                try (TagStrippingReader reader = new TagStrippingReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                    YamlConfiguration config = new YamlConfiguration();
+                    config.load(reader);
+                    Bench.sink = reader.hasStripped() ? config : input.getChecksum();
+                }
+            });
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Data
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void _generate(Path file) throws IOException {
+        StringBuilder yaml = new StringBuilder(TARGET_BYTES + 1024);
+        yaml.append("players:\n");
+        for (int i = 0; yaml.length() < TARGET_BYTES; i++) {
+            yaml.append("  player-").append(i).append(":\n");
+            yaml.append("    name: Player").append(i).append('\n');
+            yaml.append("    coins: ").append(i * 7 % 10_000).append('\n');
+            yaml.append("    last-seen: '2026-10-16 12:").append(i % 60 < 10 ? "0" : "").append(i % 60).append("'\n");
+            yaml.append("    homes:\n");
+            yaml.append("    - spawn\n");
+            yaml.append("    - base-").append(i % 100).append('\n');
+            // Every 25th player has a leftover type tag, like configs written by older plugin versions
+            if (i % 25 == 0) yaml.append("    location: !!org.bukkit.Location 0,64,0\n");
+        }
+        Files.writeString(file, yaml);
+    }
+
+    private static long _streamClean(Path file) throws IOException {
+        CheckedInputStream input = new CheckedInputStream(Files.newInputStream(file), new CRC32C());
+        try (Reader reader = new TagStrippingReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            char[] chunk = new char[8192];
+            long characters = 0;
+            int read;
+            while ((read = reader.read(chunk, 0, chunk.length)) >= 0) {
+                characters += read;
+            }
+            return characters + input.getChecksum().getValue();
+        }
+    }
+}
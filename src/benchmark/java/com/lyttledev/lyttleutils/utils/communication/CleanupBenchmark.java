@@ -0,0 +1,75 @@
+package com.lyttledev.lyttleutils.utils.communication;
+
+import com.lyttledev.lyttleutils.benchmark.Bench;
+import com.lyttledev.lyttleutils.types.Message.ReplacementEntry;
+import com.lyttledev.lyttleutils.types.Message.Replacements;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Rendering a prefix plus message per send: the old pipeline, which parsed both texts and ran the full
+ * cleanup (MiniMessage round trip, backslash handling and the legacy &amp; round trip) on every send,
+ * against templates compiled once. Compiling a template is measured too, as that cost moved to load time.
+ */
+public final class CleanupBenchmark {
+    private static final String PREFIX = "<dark_aqua><bold>Lyttle<aqua><bold>Development<reset> <dark_gray>- <gray>";
+    private static final String[][] MESSAGES = {
+            {"plain", "<red>You do not have permission to do that!"},
+            {"replacements", "<gray>Welcome back, <white><PLAYER><gray>! You have <gold><COINS> coins<gray>."},
+            {"legacy codes", "&cYou do not have permission &7to do that!"},
+            {"literal \\n", "<gray>Line one\\n<gray>Line two"},
+    };
+
+    private CleanupBenchmark() {}
+
+    public static void run(Bench bench) {
+        MiniMessage miniMessage = MiniMessage.miniMessage();
+        MessageTemplate prefix = new MessageTemplate(miniMessage, PREFIX);
+        Replacements replacements = Replacements.builder()
+                .add("<PLAYER>", "Steve")
+                .add("<COINS>", "250")
+                .build();
+
+        for (String[] message : MESSAGES) {
+            bench.section("Prefix + message, " + message[0]);
+            String source = message[1];
+            MessageTemplate template = new MessageTemplate(miniMessage, source);
+            // Only the message with keys is sent with replacements, as in the plugins
+            Replacements used = source.contains("<PLAYER>") ? replacements : null;
+
+            bench.measure("parse and clean up per send (before)", () -> _renderBefore(miniMessage, source, used));
+            bench.measure("compiled templates", () -> Component.empty().append(prefix.render()).append(template.render(used, null)));
+            bench.measure("compile template (once per load)", () -> new MessageTemplate(miniMessage, source).render());
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: The send path before templates
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static Component _renderBefore(MiniMessage miniMessage, String source, @Nullable Replacements replacements) {
+        Component prefix = miniMessage.deserialize(PREFIX);
+        Component message = miniMessage.deserialize(source);
+        if (replacements != null) {
+            String messageString = miniMessage.serialize(message);
+            for (ReplacementEntry replacement : replacements.getAll()) {
+                messageString = messageString.replace(replacement.getKey(), replacement.getValue());
+            }
+            message = miniMessage.deserialize(messageString);
+        }
+        return _cleanupMessage(miniMessage, Component.empty().append(prefix).append(message));
+    }
+
+    private static Component _cleanupMessage(MiniMessage miniMessage, Component message) {
+        String messageString = miniMessage.serialize(message);
+        messageString = messageString.replace("\\n", "\n");
+        messageString = messageString.replace("\\", "");
+        Component cleaned = miniMessage.deserialize(messageString);
+
+        String legacySerialized = LegacyComponentSerializer.legacyAmpersand().serialize(cleaned);
+        return LegacyComponentSerializer.legacyAmpersand().deserialize(legacySerialized);
+    }
+}
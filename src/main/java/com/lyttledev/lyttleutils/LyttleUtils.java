@@ -1,6 +1,11 @@
 package com.lyttledev.lyttleutils;
 
+import com.lyttledev.lyttleutils.types.YamlConfig;
 import com.lyttledev.lyttleutils.utils.communication.Console;
+import com.lyttledev.lyttleutils.utils.convertion.Placeholder;
+import com.lyttledev.lyttleutils.utils.storage.GlobalConfig;
+import com.lyttledev.lyttleutils.utils.storage.IoExecutor;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public final class LyttleUtils extends JavaPlugin {
@@ -11,5 +16,26 @@ public final class LyttleUtils extends JavaPlugin {
         // Print the plugin version
         this.console = new Console(this);
         console.log("LyttleUtils " + getDescription().getVersion() + " is enabled!");
+
+        // Track PlaceholderAPI availability through plugin events instead of looking it up per message
+        Placeholder.register(this);
+
+        // One shared global.yml (one parse, one watcher) for all LyttleDevelopment plugins
+        GlobalConfig globalConfig = GlobalConfig.init(this);
+        getServer().getServicesManager().register(GlobalConfig.class, globalConfig, this, ServicePriority.Normal);
+    }
+
+    @Override
+    public void onDisable() {
+        Placeholder.unregister();
+
+        getServer().getServicesManager().unregisterAll(this);
+        GlobalConfig.shutdown();
+
+        // Let queued async loads and saves finish; scheduled write-behind flushes are dropped
+        IoExecutor.shutdown();
+
+        // Write config changes still pending in write-behind mode (on this thread, the pool is gone)
+        YamlConfig.flushAll();
     }
 }
\ No newline at end of file
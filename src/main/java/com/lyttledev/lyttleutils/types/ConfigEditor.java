@@ -0,0 +1,43 @@
+package com.lyttledev.lyttleutils.types;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Editor handed out by {@link YamlConfig#update} and {@link JsonConfig#update}.
+ * Changes are made on a private copy of the config; readers only see them once the whole
+ * batch is applied, and the file is written once for the batch.
+ */
+public interface ConfigEditor {
+    /**
+     * Get a value in the batch's copy, including changes made earlier in the batch.
+     *
+     * @param path The config path.
+     * @return The value, or null if not present.
+     */
+    @Nullable Object get(String path);
+
+    /**
+     * Check existence of key at path in the batch's copy.
+     *
+     * @param path The config path.
+     * @return true if present.
+     */
+    boolean contains(String path);
+
+    /**
+     * Set a value at path.
+     *
+     * @param path  The config path.
+     * @param value The new value (null removes the key).
+     * @return This editor, for chaining.
+     */
+    ConfigEditor set(String path, @Nullable Object value);
+
+    /**
+     * Remove a value at path.
+     *
+     * @param path The config path.
+     * @return true if removed, false if not present.
+     */
+    boolean remove(String path);
+}
@@ -0,0 +1,68 @@
+package com.lyttledev.lyttleutils.types;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A dot-separated config path (e.g. "foo.bar.baz"), split once and reused.
+ * <p>
+ * Instances are interned per distinct path string in a bounded cache, so repeated lookups of the
+ * same path do not split or allocate. Keep frequently used paths in a constant for the cheapest access:
+ * <pre>
+ *     private static final ConfigPath SPAWN_X = ConfigPath.of("spawn.x");
+ *     double x = config.getDouble(SPAWN_X, 0.0);
+ * </pre>
+ */
+public final class ConfigPath {
+    // Paths beyond this are still parsed, just not interned (protects against unbounded dynamic keys)
+    private static final int MAX_CACHED = 4096;
+    private static final Map<String, ConfigPath> CACHE = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final String[] parts;
+
+    private ConfigPath(String path) {
+        this.path = path;
+        this.parts = path.split("\\.");
+    }
+
+    /**
+     * Get the parsed form of a path.
+     *
+     * @param path The dot-separated path.
+     * @return The interned ConfigPath.
+     */
+    public static ConfigPath of(String path) {
+        ConfigPath cached = CACHE.get(path);
+        if (cached != null) return cached;
+
+        ConfigPath created = new ConfigPath(path);
+        if (CACHE.size() < MAX_CACHED) {
+            ConfigPath existing = CACHE.putIfAbsent(path, created);
+            if (existing != null) return existing;
+        }
+        return created;
+    }
+
+    /**
+     * Get the path segments. The array is shared and must not be modified.
+     */
+    String[] parts() {
+        return parts;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof ConfigPath configPath && path.equals(configPath.path));
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -0,0 +1,89 @@
+package com.lyttledev.lyttleutils.types;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Path-prefix change subscriptions shared by YamlConfig and JsonConfig.
+ * <p>
+ * A subscription on "a.b" is told about changes to "a.b" itself, anything below it (e.g. "a.b.c")
+ * and any parent that was replaced as a whole (e.g. "a"). An empty prefix matches every change.
+ */
+final class ConfigSubscriptions {
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private record Subscription(String prefix, Consumer<Set<String>> listener) {}
+
+    void add(String prefix, Consumer<Set<String>> listener) {
+        subscriptions.add(new Subscription(prefix, listener));
+    }
+
+    void remove(Consumer<Set<String>> listener) {
+        subscriptions.removeIf(subscription -> subscription.listener() == listener);
+    }
+
+    boolean isEmpty() {
+        return subscriptions.isEmpty();
+    }
+
+    /**
+     * Tell every subscription about the changed paths that concern its prefix.
+     *
+     * @param changed    The changed paths
+     * @param logger     The logger to report failing listeners to
+     * @param configPath The config name used in log messages
+     */
+    void notify(Set<String> changed, Logger logger, String configPath) {
+        if (changed.isEmpty()) return;
+
+        for (Subscription subscription : subscriptions) {
+            Set<String> matching = new HashSet<>();
+            for (String path : changed) {
+                if (overlaps(path, subscription.prefix())) matching.add(path);
+            }
+            if (matching.isEmpty()) continue;
+
+            try {
+                subscription.listener().accept(Collections.unmodifiableSet(matching));
+            } catch (Exception e) {
+                logger.warning("Config change listener for " + configPath + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Compute the paths whose value differs between two flattened path -&gt; value views.
+     *
+     * @param before   The old view
+     * @param after    The new view
+     * @param isBranch Values that only group other paths (e.g. sections) and are not compared themselves
+     * @return The added, removed and changed paths
+     */
+    static Set<String> diff(Map<String, ?> before, Map<String, ?> after, Predicate<Object> isBranch) {
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, ?> entry : before.entrySet()) {
+            if (isBranch.test(entry.getValue())) continue;
+            if (!Objects.equals(entry.getValue(), after.get(entry.getKey()))) changed.add(entry.getKey());
+        }
+        for (Map.Entry<String, ?> entry : after.entrySet()) {
+            if (isBranch.test(entry.getValue())) continue;
+            if (!before.containsKey(entry.getKey())) changed.add(entry.getKey());
+        }
+        return changed;
+    }
+
+    private static boolean overlaps(String path, String prefix) {
+        return prefix.isEmpty()
+                || path.equals(prefix)
+                || (path.startsWith(prefix) && path.charAt(prefix.length()) == '.')
+                || (prefix.startsWith(path) && prefix.charAt(path.length()) == '.');
+    }
+}
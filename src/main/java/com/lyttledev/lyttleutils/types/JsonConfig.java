@@ -1,17 +1,36 @@
 package com.lyttledev.lyttleutils.types;
 
 import com.google.gson.*;
+import com.lyttledev.lyttleutils.utils.storage.AtomicFile;
+import com.lyttledev.lyttleutils.utils.storage.BinarySnapshot;
+import com.lyttledev.lyttleutils.utils.storage.IoExecutor;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
 
 /**
  * JsonConfig utility for managing plugin configuration files using JSON (GSON).
@@ -20,18 +39,45 @@ import java.util.Set;
  * <p>
  * All get* methods support an optional defaultValue parameter.
  * If the key does not exist, returns the default (or null if not set).
+ * <p>
+ * Writes are atomic (temp file + move), so a crash mid-write never leaves a truncated file.
+ * With {@link #setKeepBackup(boolean)} the previous generation is kept as a .bak file,
+ * which is loaded instead when the config itself is missing or broken.
+ * <p>
+ * The in-memory JsonObject/POJO is the source of truth: writes keep both views in sync
+ * (the POJO is derived from the JsonObject when first needed). The file is only read again on {@link #reload()} or when
+ * a (throttled) check of its size and modification time shows it was changed externally.
+ * <p>
+ * The JsonObject tree is published as an immutable snapshot through a volatile reference.
+ * Writers never modify a published tree: set/remove copy only the objects along the changed path
+ * and share every other branch, then swap in the new root. Readers never block and always see
+ * one consistent version. The POJO from {@link #getData()} is a mutable object and is not covered.
  *
  * @param <T> The POJO data class to map the config file to.
  */
 public class JsonConfig<T> {
+    // How often the file is checked for external modifications
+    private static final long STAT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final String pluginFolderPath;
     private final String configPath;
-    private final JavaPlugin plugin;
+    private final Logger logger;
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     private final Class<T> dataClass;
 
-    private T dataCache = null;
-    private JsonObject configCache = null;
+    private volatile T dataCache = null;
+    private volatile JsonObject configCache = null;
+    // Serializes writers and file loads; readers of a loaded snapshot never take it
+    private final Object writeLock = new Object();
+    private volatile boolean keepBackup = false;
+    private volatile boolean binarySnapshot = false;
+    private final ConfigSubscriptions subscriptions = new ConfigSubscriptions();
+
+    // Size and modification time of the file as last read or written by us
+    private volatile @Nullable FileStamp knownStamp = null;
+    private volatile long nextStatAt = 0;
+
+    private record FileStamp(long size, long modified) {}
 
     /**
      * Initialize JsonConfig with plugin, config file path, and POJO class.
@@ -41,9 +87,24 @@ public class JsonConfig<T> {
      * @param dataClass  The class of the data object to map to/from JSON.
      */
     public JsonConfig(JavaPlugin plugin, String configPath, Class<T> dataClass) {
-        this.pluginFolderPath = plugin.getDataFolder().getPath();
+        this(plugin.getDataFolder().getPath(), configPath, plugin.getLogger(), dataClass);
+    }
+
+    /**
+     * Initialize JsonConfig on a file outside a plugin's data folder (e.g. in tests and benchmarks).
+     *
+     * @param file      The config file.
+     * @param logger    The logger to report failures to.
+     * @param dataClass The class of the data object to map to/from JSON.
+     */
+    JsonConfig(Path file, Logger logger, Class<T> dataClass) {
+        this(file.toAbsolutePath().getParent().toString(), file.getFileName().toString(), logger, dataClass);
+    }
+
+    private JsonConfig(String pluginFolderPath, String configPath, Logger logger, Class<T> dataClass) {
+        this.pluginFolderPath = pluginFolderPath;
         this.configPath = configPath;
-        this.plugin = plugin;
+        this.logger = logger;
         this.dataClass = dataClass;
     }
 
@@ -52,26 +113,58 @@ public class JsonConfig<T> {
      * If loading fails, logs error and returns null.
      */
     public @Nullable T getData() {
-        if (this.dataCache == null) {
+        checkExternalModification();
+        T data = this.dataCache;
+        if (data != null) return data;
+
+        synchronized (this.writeLock) {
+            if (this.dataCache == null) {
+                loadData();
+            }
+            return this.dataCache;
+        }
+    }
+
+    private void loadData() {
+        // Derive the POJO from the tree when it is loaded already (or cheap to load from its binary snapshot)
+        JsonObject tree = this.configCache;
+        if (tree == null && this.binarySnapshot) {
+            loadConfig();
+            tree = this.configCache;
+        }
+        if (tree != null) {
             try {
-                File file = new File(this.pluginFolderPath, this.configPath);
-                if (!file.exists()) {
+                this.dataCache = gson.fromJson(tree, dataClass);
+                if (this.dataCache != null) return;
+            } catch (JsonParseException ignored) {
+                // Fall back to reading the file
+            }
+        }
+
+        try {
+            File file = new File(this.pluginFolderPath, this.configPath);
+            if (!file.exists()) {
+                // A crash between the two moves of a backup-keeping write leaves only the backup
+                this.dataCache = loadBackup(dataClass);
+                if (this.dataCache == null) {
                     this.dataCache = dataClass.getDeclaredConstructor().newInstance();
-                    saveData();
-                } else {
-                    try (FileReader reader = new FileReader(file)) {
-                        this.dataCache = gson.fromJson(reader, dataClass);
-                        if (this.dataCache == null) {
-                            this.dataCache = dataClass.getDeclaredConstructor().newInstance();
-                        }
+                }
+                saveData();
+            } else {
+                rememberStamp();
+                try (FileReader reader = new FileReader(file)) {
+                    this.dataCache = gson.fromJson(reader, dataClass);
+                    if (this.dataCache == null) {
+                        this.dataCache = dataClass.getDeclaredConstructor().newInstance();
                     }
                 }
-            } catch (Exception e) {
-                this.plugin.getLogger().severe("Failed to load config (POJO) " + this.configPath + ": " + e.getMessage());
-                this.dataCache = null;
+            }
+        } catch (Exception e) {
+            this.dataCache = loadBackup(dataClass);
+            if (this.dataCache == null) {
+                this.logger.severe("Failed to load config (POJO) " + this.configPath + ": " + e.getMessage());
             }
         }
-        return this.dataCache;
     }
 
     /**
@@ -79,60 +172,333 @@ public class JsonConfig<T> {
      * If loading fails, logs error and returns null.
      */
     private @Nullable JsonObject getConfig() {
-        if (this.configCache == null) {
-            try {
-                File file = new File(this.pluginFolderPath, this.configPath);
-                if (!file.exists()) {
+        checkExternalModification();
+        JsonObject tree = this.configCache;
+        if (tree != null) return tree;
+
+        synchronized (this.writeLock) {
+            if (this.configCache == null) {
+                loadConfig();
+            }
+            return this.configCache;
+        }
+    }
+
+    private void loadConfig() {
+        try {
+            File file = new File(this.pluginFolderPath, this.configPath);
+            if (!file.exists()) {
+                // A crash between the two moves of a backup-keeping write leaves only the backup
+                this.configCache = loadBackup(JsonObject.class);
+                if (this.configCache == null) {
                     this.configCache = new JsonObject();
-                    saveConfig();
-                } else {
-                    try (FileReader reader = new FileReader(file)) {
-                        JsonElement element = JsonParser.parseReader(reader);
-                        this.configCache = (element != null && element.isJsonObject()) ? element.getAsJsonObject() : new JsonObject();
-                    }
                 }
-            } catch (Exception e) {
-                this.plugin.getLogger().severe("Failed to load config (JSON) " + this.configPath + ": " + e.getMessage());
-                this.configCache = null;
+                saveConfig();
+            } else {
+                rememberStamp();
+                this.configCache = this.binarySnapshot ? readTreeWithSnapshot() : readTree(file);
+            }
+        } catch (Exception e) {
+            this.configCache = loadBackup(JsonObject.class);
+            if (this.configCache == null) {
+                this.logger.severe("Failed to load config (JSON) " + this.configPath + ": " + e.getMessage());
             }
         }
-        return this.configCache;
+    }
+
+    private JsonObject readTree(File file) throws IOException {
+        try (FileReader reader = new FileReader(file)) {
+            JsonElement element = JsonParser.parseReader(reader);
+            return (element != null && element.isJsonObject()) ? element.getAsJsonObject() : new JsonObject();
+        }
+    }
+
+    /**
+     * Load the tree from the binary snapshot when it matches the file, otherwise parse the file and rebuild the snapshot.
+     */
+    private JsonObject readTreeWithSnapshot() throws IOException {
+        BinarySnapshot.Contents contents = BinarySnapshot.read(getPath());
+        if (contents != null && toJson(contents.root()) instanceof JsonObject tree) return tree;
+
+        byte[] content = Files.readAllBytes(getPath());
+        JsonElement element = JsonParser.parseReader(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+        JsonObject tree = (element != null && element.isJsonObject()) ? element.getAsJsonObject() : new JsonObject();
+        writeBinarySnapshot(tree, content);
+        return tree;
+    }
+
+    /**
+     * Keep a binary snapshot of the parsed JSON next to the file, loaded instead of parsing the text
+     * as long as the file is unchanged. Worth it for large data files; set it before the first access.
+     * Numbers are kept as long or double, so very large integers lose precision.
+     *
+     * @param enabled Whether to use a binary snapshot.
+     */
+    public void setBinarySnapshot(boolean enabled) {
+        this.binarySnapshot = enabled;
+    }
+
+    /**
+     * Rebuild the binary snapshot in the background. The tree must be a published (never modified) one.
+     */
+    private void writeBinarySnapshot(JsonObject tree, byte[] content) {
+        IoExecutor.run(() -> BinarySnapshot.write(getPath(), BinarySnapshot.checksum(content), toPlain(tree)));
+    }
+
+    /**
+     * Convert a JSON tree to the maps, lists and primitives stored in a binary snapshot.
+     */
+    private static @Nullable Object toPlain(JsonElement element) {
+        if (element.isJsonObject()) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                map.put(entry.getKey(), toPlain(entry.getValue()));
+            }
+            return map;
+        }
+        if (element.isJsonArray()) {
+            List<Object> list = new ArrayList<>();
+            for (JsonElement item : element.getAsJsonArray()) {
+                list.add(toPlain(item));
+            }
+            return list;
+        }
+        if (element.isJsonNull()) return null;
+
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) return primitive.getAsBoolean();
+        if (primitive.isString()) return primitive.getAsString();
+        try {
+            return Long.parseLong(primitive.getAsString());
+        } catch (NumberFormatException e) {
+            return primitive.getAsDouble();
+        }
+    }
+
+    /**
+     * Convert a binary snapshot tree back to JSON.
+     */
+    private static JsonElement toJson(@Nullable Object value) {
+        if (value instanceof Map<?, ?> map) {
+            JsonObject obj = new JsonObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                obj.add(String.valueOf(entry.getKey()), toJson(entry.getValue()));
+            }
+            return obj;
+        }
+        if (value instanceof List<?> list) {
+            JsonArray array = new JsonArray(list.size());
+            for (Object item : list) {
+                array.add(toJson(item));
+            }
+            return array;
+        }
+        if (value instanceof String string) return new JsonPrimitive(string);
+        if (value instanceof Boolean bool) return new JsonPrimitive(bool);
+        if (value instanceof Number number) return new JsonPrimitive(number);
+        return JsonNull.INSTANCE;
+    }
+
+    /**
+     * Get the current JsonObject tree, for migrating it into another store. Must not be modified.
+     */
+    @Nullable JsonObject currentTree() {
+        return getConfig();
+    }
+
+    /**
+     * Loads the backup kept by atomic writes, if there is one.
+     *
+     * @return The parsed backup, or null if there is no usable backup.
+     */
+    private @Nullable <R> R loadBackup(Class<R> type) {
+        String backup = AtomicFile.readBackup(getPath());
+        if (backup == null) return null;
+        try {
+            R value = gson.fromJson(backup, type);
+            if (value != null) {
+                this.logger.warning("Config " + this.configPath + " could not be read; loaded its backup instead");
+            }
+            return value;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private Path getPath() {
+        return new File(this.pluginFolderPath, this.configPath).toPath();
+    }
+
+    /**
+     * Drop the caches when the file was changed by someone else since we last read or wrote it.
+     * Stats the file at most once per {@link #STAT_INTERVAL_NANOS}. Subscribers are notified from the
+     * shared I/O executor, so a getter never runs their callbacks (or the diff) on the caller's thread.
+     */
+    private void checkExternalModification() {
+        long now = System.nanoTime();
+        if (now - this.nextStatAt < 0) return;
+        this.nextStatAt = now + STAT_INTERVAL_NANOS;
+
+        if (this.dataCache == null && this.configCache == null) return;
+        if (!Objects.equals(this.knownStamp, readStamp())) {
+            JsonObject before = this.configCache;
+            this.dataCache = null;
+            this.configCache = null;
+            if (!this.subscriptions.isEmpty()) {
+                IoExecutor.run(() -> notifyChanges(before, getConfig()));
+            }
+        }
+    }
+
+    private void rememberStamp() {
+        this.knownStamp = readStamp();
+        this.nextStatAt = System.nanoTime() + STAT_INTERVAL_NANOS;
+    }
+
+    private @Nullable FileStamp readStamp() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(getPath(), BasicFileAttributes.class);
+            return new FileStamp(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Keep the previous generation of the file as a .bak backup on every save.
+     *
+     * @param keepBackup Whether to keep a backup.
+     */
+    public void setKeepBackup(boolean keepBackup) {
+        this.keepBackup = keepBackup;
     }
 
     /**
      * Saves the current POJO data state to disk.
+     * The POJO stays cached, and the JsonObject view becomes the tree that was written.
      */
     public void saveData() {
-        try (FileWriter writer = new FileWriter(new File(this.pluginFolderPath, this.configPath))) {
-            gson.toJson(this.getData(), writer);
-        } catch (IOException e) {
-            this.plugin.getLogger().warning("Failed to save POJO config: " + e.getMessage());
+        JsonObject before;
+        JsonObject after;
+        synchronized (this.writeLock) {
+            before = this.configCache;
+            T data = this.getData();
+            JsonElement tree = gson.toJsonTree(data);
+            try {
+                byte[] content = gson.toJson(tree).getBytes(StandardCharsets.UTF_8);
+                AtomicFile.write(getPath(), content, this.keepBackup);
+                rememberStamp();
+                if (this.binarySnapshot && tree.isJsonObject()) writeBinarySnapshot(tree.getAsJsonObject(), content);
+            } catch (IOException e) {
+                this.logger.warning("Failed to save POJO config: " + e.getMessage());
+            }
+            this.configCache = tree.isJsonObject() ? tree.getAsJsonObject() : null;
+            after = this.configCache;
         }
-        this.dataCache = null;
-        this.configCache = null;
+        notifyChanges(before, after);
     }
 
     /**
      * Saves the current config (JsonObject) state to disk.
+     * The JsonObject stays cached; the POJO view is derived from it again when needed.
      */
     private void saveConfig() {
-        try (FileWriter writer = new FileWriter(new File(this.pluginFolderPath, this.configPath))) {
-            gson.toJson(this.configCache, writer);
+        JsonObject tree = this.configCache;
+        try {
+            byte[] content = gson.toJson(tree).getBytes(StandardCharsets.UTF_8);
+            AtomicFile.write(getPath(), content, this.keepBackup);
+            rememberStamp();
+            if (this.binarySnapshot && tree != null) writeBinarySnapshot(tree, content);
         } catch (IOException e) {
-            this.plugin.getLogger().warning("Failed to save JSON config: " + e.getMessage());
+            this.logger.warning("Failed to save JSON config: " + e.getMessage());
         }
         this.dataCache = null;
-        this.configCache = null;
     }
 
     /**
      * Force reload from file.
      */
     public void reload() {
-        this.dataCache = null;
-        this.configCache = null;
-        getData();
-        getConfig();
+        JsonObject before;
+        JsonObject after;
+        synchronized (this.writeLock) {
+            before = this.configCache;
+            this.dataCache = null;
+            this.configCache = null;
+            getData();
+            after = getConfig();
+        }
+        notifyChanges(before, after);
+    }
+
+    /**
+     * Load the config (JsonObject and POJO) from disk on the shared I/O executor, so later getters never hit the disk.
+     * Call this from onEnable to preload. Does nothing if the config is loaded already.
+     *
+     * @return A future completing once the config is loaded, or exceptionally if it could not be loaded.
+     */
+    public CompletableFuture<Void> loadAsync() {
+        return IoExecutor.run(() -> {
+            if (getConfig() == null || getData() == null) {
+                throw new IllegalStateException("Failed to load config " + this.configPath);
+            }
+        });
+    }
+
+    /**
+     * Save the current POJO data on the shared I/O executor. See {@link #saveData()}.
+     *
+     * @return A future completing once the file is written.
+     */
+    public CompletableFuture<Void> saveAsync() {
+        return IoExecutor.run(this::saveData);
+    }
+
+    /**
+     * Reload the config from disk on the shared I/O executor. See {@link #reload()}.
+     *
+     * @return A future completing once the config is reloaded and subscribers have run.
+     */
+    public CompletableFuture<Void> reloadAsync() {
+        return IoExecutor.run(this::reload);
+    }
+
+    /**
+     * Subscribe to changes at or below a path prefix (e.g. "messages" or "spawn.x").
+     * The listener receives the changed paths that concern the prefix; on reload and saveData these are
+     * found by comparing the old and new tree, so an unchanged subtree does not trigger it.
+     * An empty prefix subscribes to every change.
+     * <p>
+     * While anyone is subscribed, external modifications are reloaded right away when detected
+     * instead of lazily, so the change can be reported.
+     *
+     * @param prefix   The path prefix to watch.
+     * @param listener The listener receiving the changed paths.
+     */
+    public void onChange(String prefix, Consumer<Set<String>> listener) {
+        this.subscriptions.add(prefix, listener);
+    }
+
+    /**
+     * Unsubscribe a listener added with {@link #onChange(String, Consumer)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeOnChange(Consumer<Set<String>> listener) {
+        this.subscriptions.remove(listener);
+    }
+
+    private void notifyChanges(Set<String> changed) {
+        this.subscriptions.notify(changed, this.logger, this.configPath);
+    }
+
+    /**
+     * Notify subscribers of a tree swap, diffing the trees only if anyone subscribed.
+     */
+    private void notifyChanges(@Nullable JsonObject before, @Nullable JsonObject after) {
+        if (this.subscriptions.isEmpty() || before == after) return;
+        Set<String> changed = ConfigSubscriptions.diff(flatten(before), flatten(after), value -> false);
+        notifyChanges(changed);
     }
 
     // ------------------------------------------------------------------------
@@ -150,6 +516,14 @@ public class JsonConfig<T> {
     }
 
     public @Nullable Object get(String path, @Nullable Object defaultValue) {
+        return get(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable Object get(ConfigPath path) {
+        return get(path, null);
+    }
+
+    public @Nullable Object get(ConfigPath path, @Nullable Object defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -164,6 +538,14 @@ public class JsonConfig<T> {
     }
 
     public @Nullable String getString(String path, @Nullable String defaultValue) {
+        return getString(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable String getString(ConfigPath path) {
+        return getString(path, null);
+    }
+
+    public @Nullable String getString(ConfigPath path, @Nullable String defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -178,6 +560,28 @@ public class JsonConfig<T> {
     }
 
     public @Nullable Integer getInt(String path, @Nullable Integer defaultValue) {
+        return getInt(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable Integer getInt(ConfigPath path) {
+        return getInt(path, null);
+    }
+
+    public @Nullable Integer getInt(ConfigPath path, @Nullable Integer defaultValue) {
+        JsonObject cfg = this.getConfig();
+        if (cfg == null) return defaultValue;
+        JsonElement element = getElementByPath(cfg, path);
+        return (element != null && element.isJsonPrimitive()) ? element.getAsInt() : defaultValue;
+    }
+
+    /**
+     * Get an int from config without boxing, or default if not present.
+     */
+    public int getInt(String path, int defaultValue) {
+        return getInt(ConfigPath.of(path), defaultValue);
+    }
+
+    public int getInt(ConfigPath path, int defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -192,6 +596,28 @@ public class JsonConfig<T> {
     }
 
     public @Nullable Long getLong(String path, @Nullable Long defaultValue) {
+        return getLong(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable Long getLong(ConfigPath path) {
+        return getLong(path, null);
+    }
+
+    public @Nullable Long getLong(ConfigPath path, @Nullable Long defaultValue) {
+        JsonObject cfg = this.getConfig();
+        if (cfg == null) return defaultValue;
+        JsonElement element = getElementByPath(cfg, path);
+        return (element != null && element.isJsonPrimitive()) ? element.getAsLong() : defaultValue;
+    }
+
+    /**
+     * Get a long from config without boxing, or default if not present.
+     */
+    public long getLong(String path, long defaultValue) {
+        return getLong(ConfigPath.of(path), defaultValue);
+    }
+
+    public long getLong(ConfigPath path, long defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -206,6 +632,28 @@ public class JsonConfig<T> {
     }
 
     public @Nullable Double getDouble(String path, @Nullable Double defaultValue) {
+        return getDouble(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable Double getDouble(ConfigPath path) {
+        return getDouble(path, null);
+    }
+
+    public @Nullable Double getDouble(ConfigPath path, @Nullable Double defaultValue) {
+        JsonObject cfg = this.getConfig();
+        if (cfg == null) return defaultValue;
+        JsonElement element = getElementByPath(cfg, path);
+        return (element != null && element.isJsonPrimitive()) ? element.getAsDouble() : defaultValue;
+    }
+
+    /**
+     * Get a double from config without boxing, or default if not present.
+     */
+    public double getDouble(String path, double defaultValue) {
+        return getDouble(ConfigPath.of(path), defaultValue);
+    }
+
+    public double getDouble(ConfigPath path, double defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -220,6 +668,28 @@ public class JsonConfig<T> {
     }
 
     public @Nullable Boolean getBoolean(String path, @Nullable Boolean defaultValue) {
+        return getBoolean(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable Boolean getBoolean(ConfigPath path) {
+        return getBoolean(path, null);
+    }
+
+    public @Nullable Boolean getBoolean(ConfigPath path, @Nullable Boolean defaultValue) {
+        JsonObject cfg = this.getConfig();
+        if (cfg == null) return defaultValue;
+        JsonElement element = getElementByPath(cfg, path);
+        return (element != null && element.isJsonPrimitive()) ? element.getAsBoolean() : defaultValue;
+    }
+
+    /**
+     * Get a boolean from config without boxing, or default if not present.
+     */
+    public boolean getBoolean(String path, boolean defaultValue) {
+        return getBoolean(ConfigPath.of(path), defaultValue);
+    }
+
+    public boolean getBoolean(ConfigPath path, boolean defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -234,6 +704,14 @@ public class JsonConfig<T> {
     }
 
     public @Nullable List<?> getList(String path, @Nullable List<?> defaultValue) {
+        return getList(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable List<?> getList(ConfigPath path) {
+        return getList(path, null);
+    }
+
+    public @Nullable List<?> getList(ConfigPath path, @Nullable List<?> defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -248,6 +726,14 @@ public class JsonConfig<T> {
     }
 
     public @Nullable List<String> getStringList(String path, @Nullable List<String> defaultValue) {
+        return getStringList(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable List<String> getStringList(ConfigPath path) {
+        return getStringList(path, null);
+    }
+
+    public @Nullable List<String> getStringList(ConfigPath path, @Nullable List<String> defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -269,6 +755,14 @@ public class JsonConfig<T> {
     }
 
     public @Nullable List<Integer> getIntegerList(String path, @Nullable List<Integer> defaultValue) {
+        return getIntegerList(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable List<Integer> getIntegerList(ConfigPath path) {
+        return getIntegerList(path, null);
+    }
+
+    public @Nullable List<Integer> getIntegerList(ConfigPath path, @Nullable List<Integer> defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -290,6 +784,14 @@ public class JsonConfig<T> {
     }
 
     public @Nullable List<Double> getDoubleList(String path, @Nullable List<Double> defaultValue) {
+        return getDoubleList(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable List<Double> getDoubleList(ConfigPath path) {
+        return getDoubleList(path, null);
+    }
+
+    public @Nullable List<Double> getDoubleList(ConfigPath path, @Nullable List<Double> defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -311,6 +813,14 @@ public class JsonConfig<T> {
     }
 
     public @Nullable List<Boolean> getBooleanList(String path, @Nullable List<Boolean> defaultValue) {
+        return getBooleanList(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable List<Boolean> getBooleanList(ConfigPath path) {
+        return getBooleanList(path, null);
+    }
+
+    public @Nullable List<Boolean> getBooleanList(ConfigPath path, @Nullable List<Boolean> defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -324,6 +834,98 @@ public class JsonConfig<T> {
         return defaultValue;
     }
 
+    /**
+     * Get a numeric list as int[], or default if not present.
+     * Entries that are not numbers are skipped.
+     */
+    public int @Nullable [] getIntArray(String path) {
+        return getIntArray(ConfigPath.of(path), null);
+    }
+
+    public int @Nullable [] getIntArray(String path, int @Nullable [] defaultValue) {
+        return getIntArray(ConfigPath.of(path), defaultValue);
+    }
+
+    public int @Nullable [] getIntArray(ConfigPath path) {
+        return getIntArray(path, null);
+    }
+
+    public int @Nullable [] getIntArray(ConfigPath path, int @Nullable [] defaultValue) {
+        JsonArray array = getNumberArray(path);
+        if (array == null) return defaultValue;
+        int[] values = new int[array.size()];
+        int count = 0;
+        for (JsonElement entry : array) {
+            if (isNumber(entry)) values[count++] = entry.getAsInt();
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Get a numeric list as long[], or default if not present.
+     * Entries that are not numbers are skipped.
+     */
+    public long @Nullable [] getLongArray(String path) {
+        return getLongArray(ConfigPath.of(path), null);
+    }
+
+    public long @Nullable [] getLongArray(String path, long @Nullable [] defaultValue) {
+        return getLongArray(ConfigPath.of(path), defaultValue);
+    }
+
+    public long @Nullable [] getLongArray(ConfigPath path) {
+        return getLongArray(path, null);
+    }
+
+    public long @Nullable [] getLongArray(ConfigPath path, long @Nullable [] defaultValue) {
+        JsonArray array = getNumberArray(path);
+        if (array == null) return defaultValue;
+        long[] values = new long[array.size()];
+        int count = 0;
+        for (JsonElement entry : array) {
+            if (isNumber(entry)) values[count++] = entry.getAsLong();
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Get a numeric list as double[], or default if not present.
+     * Entries that are not numbers are skipped.
+     */
+    public double @Nullable [] getDoubleArray(String path) {
+        return getDoubleArray(ConfigPath.of(path), null);
+    }
+
+    public double @Nullable [] getDoubleArray(String path, double @Nullable [] defaultValue) {
+        return getDoubleArray(ConfigPath.of(path), defaultValue);
+    }
+
+    public double @Nullable [] getDoubleArray(ConfigPath path) {
+        return getDoubleArray(path, null);
+    }
+
+    public double @Nullable [] getDoubleArray(ConfigPath path, double @Nullable [] defaultValue) {
+        JsonArray array = getNumberArray(path);
+        if (array == null) return defaultValue;
+        double[] values = new double[array.size()];
+        int count = 0;
+        for (JsonElement entry : array) {
+            if (isNumber(entry)) values[count++] = entry.getAsDouble();
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    private @Nullable JsonArray getNumberArray(ConfigPath path) {
+        JsonObject cfg = this.getConfig();
+        if (cfg == null) return null;
+        JsonElement element = getElementByPath(cfg, path);
+        return (element != null && element.isJsonArray()) ? element.getAsJsonArray() : null;
+    }
+
+    private static boolean isNumber(JsonElement element) {
+        return element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber();
+    }
+
     /**
      * Get a Map<String,Object> from config, or default if not present.
      */
@@ -332,6 +934,14 @@ public class JsonConfig<T> {
     }
 
     public @Nullable Map<String, Object> getMap(String path, @Nullable Map<String, Object> defaultValue) {
+        return getMap(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable Map<String, Object> getMap(ConfigPath path) {
+        return getMap(path, null);
+    }
+
+    public @Nullable Map<String, Object> getMap(ConfigPath path, @Nullable Map<String, Object> defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -340,16 +950,25 @@ public class JsonConfig<T> {
 
     /**
      * Get a Set<String> of keys at path, or default if not present.
+     * The set is a read-only view on the shared snapshot; use set() and remove() to change keys.
      */
     public @Nullable Set<String> getKeySet(String path) {
         return getKeySet(path, null);
     }
 
     public @Nullable Set<String> getKeySet(String path, @Nullable Set<String> defaultValue) {
+        return getKeySet(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable Set<String> getKeySet(ConfigPath path) {
+        return getKeySet(path, null);
+    }
+
+    public @Nullable Set<String> getKeySet(ConfigPath path, @Nullable Set<String> defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
-        return (element != null && element.isJsonObject()) ? element.getAsJsonObject().keySet() : defaultValue;
+        return (element != null && element.isJsonObject()) ? Collections.unmodifiableSet(element.getAsJsonObject().keySet()) : defaultValue;
     }
 
     /**
@@ -360,6 +979,14 @@ public class JsonConfig<T> {
     }
 
     public @Nullable List<Map<?, ?>> getMapList(String path, @Nullable List<Map<?, ?>> defaultValue) {
+        return getMapList(ConfigPath.of(path), defaultValue);
+    }
+
+    public @Nullable List<Map<?, ?>> getMapList(ConfigPath path) {
+        return getMapList(path, null);
+    }
+
+    public @Nullable List<Map<?, ?>> getMapList(ConfigPath path, @Nullable List<Map<?, ?>> defaultValue) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return defaultValue;
         JsonElement element = getElementByPath(cfg, path);
@@ -377,13 +1004,17 @@ public class JsonConfig<T> {
 
     /**
      * Get a nested JsonObject section at path.
-     * Returns null if not present.
+     * Returns null if not present. The section is a copy, so changing it does not change the config; use set() for that.
      */
     public @Nullable JsonObject getSection(String path) {
+        return getSection(ConfigPath.of(path));
+    }
+
+    public @Nullable JsonObject getSection(ConfigPath path) {
         JsonObject cfg = this.getConfig();
         if (cfg == null) return null;
         JsonElement element = getElementByPath(cfg, path);
-        return (element != null && element.isJsonObject()) ? element.getAsJsonObject() : null;
+        return (element != null && element.isJsonObject()) ? element.getAsJsonObject().deepCopy() : null;
     }
 
     // ------------------------------------------------------------------------
@@ -397,9 +1028,17 @@ public class JsonConfig<T> {
      * @param value The new value.
      */
     public void set(String path, @Nullable Object value) {
-        JsonObject cfg = this.getConfig();
-        setElementByPath(cfg, path, gson.toJsonTree(value));
-        saveConfig();
+        set(ConfigPath.of(path), value);
+    }
+
+    public void set(ConfigPath path, @Nullable Object value) {
+        synchronized (this.writeLock) {
+            JsonObject cfg = this.getConfig();
+            if (cfg == null) return;
+            this.configCache = withElementByPath(cfg, path.parts(), 0, gson.toJsonTree(value), null);
+            saveConfig();
+        }
+        notifyChanges(Set.of(path.toString()));
     }
 
     /**
@@ -409,16 +1048,84 @@ public class JsonConfig<T> {
      * @return true if removed, false if not present.
      */
     public boolean remove(String path) {
-        JsonObject cfg = this.getConfig();
-        boolean removed = removeElementByPath(cfg, path);
-        if (removed) saveConfig();
-        return removed;
+        return remove(ConfigPath.of(path));
+    }
+
+    public boolean remove(ConfigPath path) {
+        synchronized (this.writeLock) {
+            JsonObject cfg = this.getConfig();
+            if (cfg == null || getElementByPath(cfg, path) == null) return false;
+            this.configCache = withElementByPath(cfg, path.parts(), 0, null, null);
+            saveConfig();
+        }
+        notifyChanges(Set.of(path.toString()));
+        return true;
+    }
+
+    /**
+     * Apply many sets and removes as one batch.
+     * The changes are made on a private version of the tree that replaces the config once the editor returns,
+     * so readers see either none or all of them, and the file is written once. If the editor throws, nothing changes.
+     * Only the objects along the edited paths are copied, each at most once per batch.
+     *
+     * @param editor The changes to apply.
+     */
+    public void update(Consumer<ConfigEditor> editor) {
+        Set<String> changed = new LinkedHashSet<>();
+        synchronized (this.writeLock) {
+            JsonObject cfg = this.getConfig();
+            if (cfg == null) return;
+
+            // Objects along the edited paths are copied once per batch; every other branch stays shared
+            Set<JsonObject> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+            JsonObject[] working = {cfg};
+            editor.accept(new ConfigEditor() {
+                @Override
+                public @Nullable Object get(String path) {
+                    JsonElement element = getElementByPath(working[0], ConfigPath.of(path));
+                    return element != null ? gson.fromJson(element, Object.class) : null;
+                }
+
+                @Override
+                public boolean contains(String path) {
+                    return getElementByPath(working[0], ConfigPath.of(path)) != null;
+                }
+
+                @Override
+                public ConfigEditor set(String path, @Nullable Object value) {
+                    if (value == null) {
+                        remove(path);
+                    } else {
+                        working[0] = withElementByPath(working[0], ConfigPath.of(path).parts(), 0, gson.toJsonTree(value), copied);
+                        changed.add(path);
+                    }
+                    return this;
+                }
+
+                @Override
+                public boolean remove(String path) {
+                    ConfigPath parsed = ConfigPath.of(path);
+                    if (getElementByPath(working[0], parsed) == null) return false;
+                    working[0] = withElementByPath(working[0], parsed.parts(), 0, null, copied);
+                    changed.add(path);
+                    return true;
+                }
+            });
+            if (changed.isEmpty()) return;
+            this.configCache = working[0];
+            saveConfig();
+        }
+        notifyChanges(changed);
     }
 
     /**
      * Check existence of key at path.
      */
     public boolean contains(String path) {
+        return contains(ConfigPath.of(path));
+    }
+
+    public boolean contains(ConfigPath path) {
         JsonObject cfg = this.getConfig();
         return cfg != null && getElementByPath(cfg, path) != null;
     }
@@ -465,12 +1172,13 @@ public class JsonConfig<T> {
     }
 
     // ---------- Path helpers for dot-notation JSON -------------
+    // Paths are parsed once into a ConfigPath instead of being split on every access.
 
     /**
      * Retrieve nested JsonElement by dot-separated path (e.g. "foo.bar.baz").
      */
-    private JsonElement getElementByPath(JsonObject obj, String path) {
-        String[] parts = path.split("\\.");
+    private JsonElement getElementByPath(JsonObject obj, ConfigPath path) {
+        String[] parts = path.parts();
         JsonElement current = obj;
         for (String part : parts) {
             if (current == null || !current.isJsonObject()) return null;
@@ -482,33 +1190,54 @@ public class JsonConfig<T> {
     }
 
     /**
-     * Set nested JsonElement by dot-separated path, creating parents as needed.
+     * Return a new tree with the value at path set (or removed when value is null), leaving obj untouched.
+     * Only the objects along the path are copied; all other branches are shared with obj.
+     * Objects in copied are private to the caller and modified in place instead; new copies are added to it.
      */
-    private void setElementByPath(JsonObject obj, String path, JsonElement value) {
-        String[] parts = path.split("\\.");
-        JsonObject current = obj;
-        for (int i = 0; i < parts.length - 1; i++) {
-            String key = parts[i];
-            if (!current.has(key) || !current.get(key).isJsonObject()) {
-                JsonObject child = new JsonObject();
-                current.add(key, child);
+    private static JsonObject withElementByPath(JsonObject obj, String[] parts, int depth, @Nullable JsonElement value, @Nullable Set<JsonObject> copied) {
+        JsonObject copy = obj;
+        if (copied == null || !copied.contains(obj)) {
+            copy = new JsonObject();
+            for (Map.Entry<String, JsonElement> entry : obj.entrySet()) {
+                copy.add(entry.getKey(), entry.getValue());
+            }
+            if (copied != null) copied.add(copy);
+        }
+
+        String key = parts[depth];
+        if (depth == parts.length - 1) {
+            if (value == null) {
+                copy.remove(key);
+            } else {
+                copy.add(key, value);
             }
-            current = current.getAsJsonObject(key);
+            return copy;
         }
-        current.add(parts[parts.length - 1], value);
+
+        JsonElement child = copy.get(key);
+        JsonObject childObj = (child != null && child.isJsonObject()) ? child.getAsJsonObject() : new JsonObject();
+        copy.add(key, withElementByPath(childObj, parts, depth + 1, value, copied));
+        return copy;
     }
 
     /**
-     * Remove nested value by dot-separated path.
+     * Map every leaf path (values and empty objects) of a tree to its element.
      */
-    private boolean removeElementByPath(JsonObject obj, String path) {
-        String[] parts = path.split("\\.");
-        JsonObject current = obj;
-        for (int i = 0; i < parts.length - 1; i++) {
-            String key = parts[i];
-            if (!current.has(key) || !current.get(key).isJsonObject()) return false;
-            current = current.getAsJsonObject(key);
+    private static Map<String, JsonElement> flatten(@Nullable JsonObject obj) {
+        Map<String, JsonElement> leaves = new HashMap<>();
+        if (obj != null) flatten(obj, "", leaves);
+        return leaves;
+    }
+
+    private static void flatten(JsonObject obj, String prefix, Map<String, JsonElement> leaves) {
+        for (Map.Entry<String, JsonElement> entry : obj.entrySet()) {
+            String path = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
+            JsonElement value = entry.getValue();
+            if (value.isJsonObject() && value.getAsJsonObject().size() > 0) {
+                flatten(value.getAsJsonObject(), path, leaves);
+            } else {
+                leaves.put(path, value);
+            }
         }
-        return current.remove(parts[parts.length - 1]) != null;
     }
 }
\ No newline at end of file
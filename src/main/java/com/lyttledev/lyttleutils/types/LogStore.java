@@ -0,0 +1,876 @@
+package com.lyttledev.lyttleutils.types;
+
+import com.google.gson.*;
+import com.lyttledev.lyttleutils.utils.storage.AtomicFile;
+import com.lyttledev.lyttleutils.utils.storage.IoExecutor;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * LogStore is a key-value store for data with many small writes (e.g. per-player data), as an alternative
+ * to {@link JsonConfig}, where every set rewrites the whole file.
+ * <p>
+ * Every set/remove appends one record (length, CRC32C, key and JSON value) to a log file and updates an
+ * in-memory sorted index, so a write costs O(record size) regardless of how much is stored. Reads are
+ * served from the index and never touch the disk or block.
+ * <p>
+ * Keys are flat: a dot is just part of the key, so "players.abc.coins" is one key. Related keys can be
+ * listed with {@link #getKeys(String)}, and a JsonConfig is migrated with {@link #importFrom(JsonConfig)},
+ * which stores each leaf under its dotted path, so the same paths keep working for reads.
+ * <p>
+ * On load the log is replayed; a torn record at the end (e.g. after a crash mid-write) is cut off and
+ * everything before it is kept. A corrupt record anywhere else is not expected from a crash, so the log is
+ * first copied to "&lt;name&gt;.corrupt" for recovery before it is cut off there. If the log cannot be loaded,
+ * reads return their defaults and writes are dropped until {@link #loadAsync()} is called again.
+ * <p>
+ * Once most of the log is overwritten or removed records, it is compacted in the background into a new
+ * log holding only the live records, which replaces the old one atomically.
+ * Appends reach the OS right away; call {@link #sync()} to also force them to the disk.
+ */
+public class LogStore {
+    private static final int MAGIC = 0x4C55534C; // "LUSL"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final byte OP_SET = 1;
+    private static final byte OP_REMOVE = 2;
+    // Logs smaller than this are never compacted automatically
+    private static final long COMPACT_MIN_BYTES = 1L << 20;
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+
+    private final Path path;
+    private final String storePath;
+    private final Logger logger;
+    private final Gson gson = new Gson();
+
+    private final ConcurrentSkipListMap<String, Entry> index = new ConcurrentSkipListMap<>();
+    private volatile boolean loaded = false;
+    // Set when loading failed, so reads do not replay the log again; cleared by loadAsync
+    private volatile boolean loadFailed = false;
+
+    // Serializes appends, loading and the log swap of a compaction; readers never take it
+    private final Object writeLock = new Object();
+    private @Nullable FileChannel channel = null;
+    private long logBytes = 0;
+    private long garbageBytes = 0;
+    private boolean compacting = false;
+    // Records appended while a compaction copies the live records, replayed onto the new log
+    private @Nullable List<ByteBuffer> appendedDuringCompaction = null;
+
+    /**
+     * A live value with the size of the record that holds it in the log.
+     */
+    private record Entry(JsonElement value, int recordBytes) {}
+
+    /**
+     * A decoded log record; value is null for a removal.
+     */
+    private record Record(String key, @Nullable JsonElement value) {}
+
+    /**
+     * Initialize LogStore with plugin and store file path.
+     *
+     * @param plugin    The JavaPlugin instance.
+     * @param storePath The log file name or relative path (e.g. "players.log").
+     */
+    public LogStore(JavaPlugin plugin, String storePath) {
+        this(new File(plugin.getDataFolder().getPath(), storePath).toPath(), storePath, plugin.getLogger());
+    }
+
+    /**
+     * Initialize LogStore on a file outside a plugin's data folder (e.g. in tests and benchmarks).
+     *
+     * @param path   The log file.
+     * @param logger The logger to report failures to.
+     */
+    LogStore(Path path, Logger logger) {
+        this(path, path.toString(), logger);
+    }
+
+    private LogStore(Path path, String storePath, Logger logger) {
+        this.path = path;
+        this.storePath = storePath;
+        this.logger = logger;
+    }
+
+    // ------------------------------------------------------------------------
+    // Loading and replay
+    // ------------------------------------------------------------------------
+
+    private Path getPath() {
+        return this.path;
+    }
+
+    private Path getCompactPath() {
+        return this.path.resolveSibling(this.path.getFileName() + COMPACT_SUFFIX);
+    }
+
+    /**
+     * Make sure the log is replayed into the index, loading it on first use.
+     *
+     * @return false if the log could not be opened.
+     */
+    private boolean ensureLoaded() {
+        if (this.loaded) return true;
+        if (this.loadFailed) return false;
+        synchronized (this.writeLock) {
+            return open();
+        }
+    }
+
+    /**
+     * Replay the log and open it for appending. Must be called while holding the write lock.
+     * A failed load is not retried until {@link #loadAsync()} clears the failure.
+     */
+    private boolean open() {
+        if (this.channel != null) return true;
+        if (!this.loaded && this.loadFailed) return false;
+
+        Path path = getPath();
+        if (this.loaded) {
+            // Closed after loading: the index still matches the log, so just reopen it for appending
+            try {
+                FileChannel reopened = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                reopened.position(reopened.size());
+                this.channel = reopened;
+                return true;
+            } catch (IOException e) {
+                this.logger.severe("Failed to open store " + this.storePath + ": " + e.getMessage());
+                return false;
+            }
+        }
+
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            // Left behind by a compaction that did not finish; the log itself is still complete
+            Files.deleteIfExists(getCompactPath());
+
+            this.index.clear();
+            this.logBytes = FILE_HEADER_BYTES;
+            this.garbageBytes = 0;
+
+            FileChannel opened = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                long size = opened.size();
+                long validEnd = size < FILE_HEADER_BYTES ? writeFileHeader(opened) : replay(path, size);
+                if (validEnd < size) {
+                    if (isTornTail(opened, validEnd, size)) {
+                        this.logger.warning("Store " + this.storePath + " ended in an incomplete record; dropped the last "
+                                + (size - validEnd) + " bytes");
+                    } else {
+                        // Records after the corrupt one cannot be found again, so keep the whole log aside first
+                        Path backup = backupCorrupt(path);
+                        this.logger.severe("Store " + this.storePath + " has a corrupt record at offset " + validEnd
+                                + "; dropped the last " + (size - validEnd) + " bytes, the full log was copied to " + backup);
+                    }
+                    opened.truncate(validEnd);
+                }
+                opened.position(validEnd);
+            } catch (IOException | RuntimeException e) {
+                opened.close();
+                throw e;
+            }
+
+            this.channel = opened;
+            this.loaded = true;
+            scheduleCompactionIfNeeded();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            this.loadFailed = true;
+            this.logger.severe("Failed to load store " + this.storePath + " (values read as missing until it is loaded again): " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Whether the record replay stopped at is the last one and was cut short by a crash, as opposed to
+     * corruption in the middle of the log.
+     */
+    private static boolean isTornTail(FileChannel channel, long offset, long size) throws IOException {
+        if (offset + RECORD_HEADER_BYTES > size) return true;
+        ByteBuffer header = ByteBuffer.allocate(4);
+        while (header.hasRemaining()) {
+            if (channel.read(header, offset + header.position()) < 0) return true;
+        }
+        int length = header.flip().getInt();
+        return length > 0 && offset + RECORD_HEADER_BYTES + length >= size;
+    }
+
+    /**
+     * Copy a corrupt log next to it, without overwriting an earlier copy.
+     *
+     * @return The copy.
+     */
+    private static Path backupCorrupt(Path path) throws IOException {
+        Path backup = path.resolveSibling(path.getFileName() + CORRUPT_SUFFIX);
+        for (int i = 1; Files.exists(backup); i++) {
+            backup = path.resolveSibling(path.getFileName() + CORRUPT_SUFFIX + "." + i);
+        }
+        Files.copy(path, backup);
+        return backup;
+    }
+
+    private static long writeFileHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+        channel.truncate(0);
+        writeFully(channel, header, 0);
+        channel.force(true);
+        return FILE_HEADER_BYTES;
+    }
+
+    /**
+     * Apply every intact record of the log to the index.
+     *
+     * @return The offset just after the last intact record.
+     */
+    private long replay(Path path, long size) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("not a LogStore file");
+            }
+
+            long offset = FILE_HEADER_BYTES;
+            while (offset + RECORD_HEADER_BYTES <= size) {
+                int length = in.readInt();
+                int crc = in.readInt();
+                if (length <= 0 || offset + RECORD_HEADER_BYTES + length > size) break;
+
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if ((int) checksum(payload) != crc) break;
+
+                Record record = decode(payload);
+                if (record == null) break;
+                apply(record.key(), record.value(), RECORD_HEADER_BYTES + length);
+                offset += RECORD_HEADER_BYTES + length;
+            }
+            return offset;
+        } catch (EOFException e) {
+            // Only reached when the header itself is cut off
+            throw new IOException("not a LogStore file");
+        }
+    }
+
+    /**
+     * Load the store on the shared I/O executor, so later getters never replay the log on the calling thread.
+     * Also retries a load that failed before.
+     *
+     * @return A future completing once the store is loaded, or exceptionally if it could not be loaded.
+     */
+    public CompletableFuture<Void> loadAsync() {
+        return IoExecutor.run(() -> {
+            synchronized (this.writeLock) {
+                this.loadFailed = false;
+                if (!open()) throw new IllegalStateException("Failed to load store " + this.storePath);
+            }
+        });
+    }
+
+    /**
+     * Force appended records to the disk, so they also survive a power loss.
+     */
+    public void sync() {
+        synchronized (this.writeLock) {
+            if (this.channel == null) return;
+            try {
+                this.channel.force(false);
+            } catch (IOException e) {
+                this.logger.warning("Failed to sync store " + this.storePath + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sync and close the log file. Values stay readable, and the log is reopened on the next write.
+     * Call this on plugin disable.
+     */
+    public void close() {
+        synchronized (this.writeLock) {
+            if (this.channel == null) return;
+            try {
+                this.channel.force(true);
+                this.channel.close();
+            } catch (IOException e) {
+                this.logger.warning("Failed to close store " + this.storePath + ": " + e.getMessage());
+            }
+            this.channel = null;
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Getters, with the same defaults behaviour as JsonConfig.
+    // If the key does not exist, returns the default (or null if not set).
+    // ------------------------------------------------------------------------
+
+    private @Nullable JsonElement lookup(String key) {
+        if (!ensureLoaded()) return null;
+        Entry entry = this.index.get(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    /**
+     * Generic getter, returns Object (use type-specific for safety).
+     */
+    public @Nullable Object get(String key) {
+        return get(key, null);
+    }
+
+    public @Nullable Object get(String key, @Nullable Object defaultValue) {
+        JsonElement element = lookup(key);
+        return element != null ? gson.fromJson(element, Object.class) : defaultValue;
+    }
+
+    /**
+     * Get a value mapped to a class (e.g. a per-player data POJO), or default if not present.
+     */
+    public @Nullable <V> V getObject(String key, Class<V> type) {
+        return getObject(key, type, null);
+    }
+
+    public @Nullable <V> V getObject(String key, Class<V> type, @Nullable V defaultValue) {
+        JsonElement element = lookup(key);
+        if (element == null) return defaultValue;
+        try {
+            return gson.fromJson(element, type);
+        } catch (JsonParseException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get a String, or default if not present.
+     */
+    public @Nullable String getString(String key) {
+        return getString(key, null);
+    }
+
+    public @Nullable String getString(String key, @Nullable String defaultValue) {
+        JsonElement element = lookup(key);
+        return (element != null && element.isJsonPrimitive()) ? element.getAsString() : defaultValue;
+    }
+
+    /**
+     * Get an Integer, or default if not present.
+     */
+    public @Nullable Integer getInt(String key) {
+        return getInt(key, null);
+    }
+
+    public @Nullable Integer getInt(String key, @Nullable Integer defaultValue) {
+        JsonElement element = lookup(key);
+        return isNumber(element) ? Integer.valueOf(element.getAsInt()) : defaultValue;
+    }
+
+    /**
+     * Get an int without boxing, or default if not present.
+     */
+    public int getInt(String key, int defaultValue) {
+        JsonElement element = lookup(key);
+        return isNumber(element) ? element.getAsInt() : defaultValue;
+    }
+
+    /**
+     * Get a Long, or default if not present.
+     */
+    public @Nullable Long getLong(String key) {
+        return getLong(key, null);
+    }
+
+    public @Nullable Long getLong(String key, @Nullable Long defaultValue) {
+        JsonElement element = lookup(key);
+        return isNumber(element) ? Long.valueOf(element.getAsLong()) : defaultValue;
+    }
+
+    /**
+     * Get a long without boxing, or default if not present.
+     */
+    public long getLong(String key, long defaultValue) {
+        JsonElement element = lookup(key);
+        return isNumber(element) ? element.getAsLong() : defaultValue;
+    }
+
+    /**
+     * Get a Double, or default if not present.
+     */
+    public @Nullable Double getDouble(String key) {
+        return getDouble(key, null);
+    }
+
+    public @Nullable Double getDouble(String key, @Nullable Double defaultValue) {
+        JsonElement element = lookup(key);
+        return isNumber(element) ? Double.valueOf(element.getAsDouble()) : defaultValue;
+    }
+
+    /**
+     * Get a double without boxing, or default if not present.
+     */
+    public double getDouble(String key, double defaultValue) {
+        JsonElement element = lookup(key);
+        return isNumber(element) ? element.getAsDouble() : defaultValue;
+    }
+
+    /**
+     * Get a Boolean, or default if not present.
+     */
+    public @Nullable Boolean getBoolean(String key) {
+        return getBoolean(key, null);
+    }
+
+    public @Nullable Boolean getBoolean(String key, @Nullable Boolean defaultValue) {
+        JsonElement element = lookup(key);
+        return (element != null && element.isJsonPrimitive()) ? Boolean.valueOf(element.getAsBoolean()) : defaultValue;
+    }
+
+    /**
+     * Get a boolean without boxing, or default if not present.
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        JsonElement element = lookup(key);
+        return (element != null && element.isJsonPrimitive()) ? element.getAsBoolean() : defaultValue;
+    }
+
+    /**
+     * Get a List&lt;String&gt;, or default if not present.
+     */
+    public @Nullable List<String> getStringList(String key) {
+        return getStringList(key, null);
+    }
+
+    public @Nullable List<String> getStringList(String key, @Nullable List<String> defaultValue) {
+        JsonElement element = lookup(key);
+        if (element == null || !element.isJsonArray()) return defaultValue;
+        List<String> list = new ArrayList<>();
+        for (JsonElement item : element.getAsJsonArray()) {
+            if (item.isJsonPrimitive()) list.add(item.getAsString());
+        }
+        return list;
+    }
+
+    private static boolean isNumber(@Nullable JsonElement element) {
+        return element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber();
+    }
+
+    /**
+     * Check existence of a key.
+     */
+    public boolean contains(String key) {
+        return lookup(key) != null;
+    }
+
+    /**
+     * Get all keys starting with a prefix, in sorted order (e.g. "players.abc." for one player's keys).
+     *
+     * @param prefix The key prefix, or an empty string for all keys.
+     * @return A live, read-only sorted view of the matching keys.
+     */
+    public NavigableSet<String> getKeys(String prefix) {
+        if (!ensureLoaded()) return Collections.emptyNavigableSet();
+        if (prefix.isEmpty()) return Collections.unmodifiableNavigableSet(this.index.navigableKeySet());
+        // Every key with the prefix sorts before the prefix followed by the highest char
+        return Collections.unmodifiableNavigableSet(this.index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).navigableKeySet());
+    }
+
+    /**
+     * Get the number of stored keys.
+     */
+    public int size() {
+        return ensureLoaded() ? this.index.size() : 0;
+    }
+
+    // ------------------------------------------------------------------------
+    // Mutators
+    // ------------------------------------------------------------------------
+
+    /**
+     * Set a value and append it to the log.
+     *
+     * @param key   The key.
+     * @param value The new value (null removes the key).
+     */
+    public void set(String key, @Nullable Object value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+
+        JsonElement element = gson.toJsonTree(value);
+        synchronized (this.writeLock) {
+            if (!open()) return;
+            ByteBuffer record = encode(key, element);
+            int recordBytes = record.remaining();
+            if (!append(record)) return;
+            apply(key, element, recordBytes);
+            scheduleCompactionIfNeeded();
+        }
+    }
+
+    /**
+     * Remove a key, appending a removal record to the log.
+     *
+     * @param key The key.
+     * @return true if removed, false if not present.
+     */
+    public boolean remove(String key) {
+        synchronized (this.writeLock) {
+            if (!open() || !this.index.containsKey(key)) return false;
+            ByteBuffer record = encode(key, null);
+            int recordBytes = record.remaining();
+            if (!append(record)) return false;
+            apply(key, null, recordBytes);
+            scheduleCompactionIfNeeded();
+            return true;
+        }
+    }
+
+    /**
+     * Apply many sets and removes as one batch, appended to the log in a single write.
+     * Readers may see the changes appear one by one; a crash keeps a prefix of the batch.
+     * If the editor throws, nothing changes.
+     *
+     * @param editor The changes to apply.
+     */
+    public void update(Consumer<ConfigEditor> editor) {
+        // Pending changes by key, in order; a null value is a removal
+        Map<String, JsonElement> changes = new LinkedHashMap<>();
+        editor.accept(new ConfigEditor() {
+            @Override
+            public @Nullable Object get(String key) {
+                if (changes.containsKey(key)) {
+                    JsonElement element = changes.get(key);
+                    return element != null ? gson.fromJson(element, Object.class) : null;
+                }
+                return LogStore.this.get(key);
+            }
+
+            @Override
+            public boolean contains(String key) {
+                return changes.containsKey(key) ? changes.get(key) != null : LogStore.this.contains(key);
+            }
+
+            @Override
+            public ConfigEditor set(String key, @Nullable Object value) {
+                changes.remove(key);
+                changes.put(key, value != null ? gson.toJsonTree(value) : null);
+                return this;
+            }
+
+            @Override
+            public boolean remove(String key) {
+                boolean present = contains(key);
+                if (present) set(key, null);
+                return present;
+            }
+        });
+        writeBatch(changes);
+    }
+
+    /**
+     * Copy every value of a JsonConfig into this store, each leaf under its dotted path
+     * (e.g. {"players": {"abc": {"coins": 5}}} becomes "players.abc.coins" = 5), in one batch.
+     * Arrays and empty objects are stored as a whole. The JsonConfig file is left untouched.
+     *
+     * @param source The config to migrate.
+     * @return The number of keys written.
+     */
+    public int importFrom(JsonConfig<?> source) {
+        JsonObject tree = source.currentTree();
+        if (tree == null) return 0;
+
+        Map<String, JsonElement> changes = new LinkedHashMap<>();
+        flatten(tree, "", changes);
+        writeBatch(changes);
+        return changes.size();
+    }
+
+    private static void flatten(JsonObject obj, String prefix, Map<String, JsonElement> leaves) {
+        for (Map.Entry<String, JsonElement> entry : obj.entrySet()) {
+            String key = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
+            JsonElement value = entry.getValue();
+            if (value.isJsonObject() && value.getAsJsonObject().size() > 0) {
+                flatten(value.getAsJsonObject(), key, leaves);
+            } else if (!value.isJsonNull()) {
+                // The index must not share mutable elements with the config's tree
+                leaves.put(key, value.deepCopy());
+            }
+        }
+    }
+
+    private void writeBatch(Map<String, JsonElement> changes) {
+        if (changes.isEmpty()) return;
+        synchronized (this.writeLock) {
+            if (!open()) return;
+
+            List<ByteBuffer> records = new ArrayList<>(changes.size());
+            List<Map.Entry<String, JsonElement>> applied = new ArrayList<>(changes.size());
+            for (Map.Entry<String, JsonElement> change : changes.entrySet()) {
+                // Removing a missing key needs no record
+                if (change.getValue() == null && !this.index.containsKey(change.getKey())) continue;
+                records.add(encode(change.getKey(), change.getValue()));
+                applied.add(change);
+            }
+            if (records.isEmpty()) return;
+
+            int[] sizes = new int[records.size()];
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = records.get(i).remaining();
+            }
+            if (!append(records.toArray(new ByteBuffer[0]))) return;
+            for (int i = 0; i < sizes.length; i++) {
+                apply(applied.get(i).getKey(), applied.get(i).getValue(), sizes[i]);
+            }
+            scheduleCompactionIfNeeded();
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Log records: [int length][int crc32c][payload]
+    // payload: [byte op][int key length][key (UTF-8)][value JSON (UTF-8), set only]
+    // ------------------------------------------------------------------------
+
+    private ByteBuffer encode(String key, @Nullable JsonElement value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value != null ? gson.toJson(value).getBytes(StandardCharsets.UTF_8) : new byte[0];
+
+        int length = 1 + 4 + keyBytes.length + valueBytes.length;
+        ByteBuffer payload = ByteBuffer.allocate(RECORD_HEADER_BYTES + length);
+        payload.position(RECORD_HEADER_BYTES);
+        payload.put(value != null ? OP_SET : OP_REMOVE).putInt(keyBytes.length).put(keyBytes).put(valueBytes);
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload.array(), RECORD_HEADER_BYTES, length);
+        payload.putInt(0, length).putInt(4, (int) crc.getValue());
+        return payload.flip();
+    }
+
+    private static @Nullable Record decode(byte[] payload) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            byte op = buffer.get();
+            int keyLength = buffer.getInt();
+            if (keyLength < 0 || keyLength > buffer.remaining()) return null;
+            String key = new String(payload, buffer.position(), keyLength, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + keyLength);
+
+            if (op == OP_REMOVE) return new Record(key, null);
+            if (op != OP_SET) return null;
+            return new Record(key, decodeValue(payload, buffer.position(), buffer.remaining()));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse a record value. Plain numbers, booleans and strings without escapes (most per-player data) are
+     * read directly, as JsonParser allocates a reader with its own buffer for every value during a replay.
+     */
+    private static JsonElement decodeValue(byte[] payload, int offset, int length) {
+        int end = offset + length;
+        if (length == 4 && payload[offset] == 't' && payload[offset + 1] == 'r' && payload[offset + 2] == 'u' && payload[offset + 3] == 'e') {
+            return new JsonPrimitive(true);
+        }
+        if (length == 5 && payload[offset] == 'f' && payload[offset + 1] == 'a' && payload[offset + 2] == 'l' && payload[offset + 3] == 's' && payload[offset + 4] == 'e') {
+            return new JsonPrimitive(false);
+        }
+        if (length >= 2 && payload[offset] == '"' && payload[end - 1] == '"') {
+            boolean plain = true;
+            for (int i = offset + 1; i < end - 1 && plain; i++) {
+                plain = payload[i] != '\\' && payload[i] != '"';
+            }
+            if (plain) return new JsonPrimitive(new String(payload, offset + 1, length - 2, StandardCharsets.UTF_8));
+        }
+        // Integers of up to 18 digits always fit in a long
+        int digits = offset < end && payload[offset] == '-' ? offset + 1 : offset;
+        if (digits < end && end - digits <= 18) {
+            long value = 0;
+            int i = digits;
+            while (i < end && payload[i] >= '0' && payload[i] <= '9') {
+                value = value * 10 + (payload[i++] - '0');
+            }
+            if (i == end) return new JsonPrimitive(digits > offset ? -value : value);
+        }
+        return JsonParser.parseString(new String(payload, offset, length, StandardCharsets.UTF_8));
+    }
+
+    private static long checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    /**
+     * Update the index and the garbage accounting for a record. Must be called while holding the write lock.
+     */
+    private void apply(String key, @Nullable JsonElement value, int recordBytes) {
+        Entry previous = value != null ? this.index.put(key, new Entry(value, recordBytes)) : this.index.remove(key);
+        if (previous != null) this.garbageBytes += previous.recordBytes();
+        // A removal record only matters until the next compaction
+        if (value == null) this.garbageBytes += recordBytes;
+        this.logBytes += recordBytes;
+    }
+
+    /**
+     * Append records at the end of the log. Must be called while holding the write lock.
+     *
+     * @return false if the records could not be written (the index is then left unchanged).
+     */
+    private boolean append(ByteBuffer... records) {
+        if (this.appendedDuringCompaction != null) {
+            for (ByteBuffer record : records) {
+                this.appendedDuringCompaction.add(record.duplicate());
+            }
+        }
+
+        FileChannel log = this.channel;
+        long start = 0;
+        try {
+            start = log.position();
+            long remaining = 0;
+            for (ByteBuffer record : records) {
+                remaining += record.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= log.write(records);
+            }
+            return true;
+        } catch (IOException e) {
+            this.logger.severe("Failed to write store " + this.storePath + ": " + e.getMessage());
+            // Cut off a partial write so the next record starts at a record boundary
+            try {
+                log.truncate(start);
+                log.position(start);
+            } catch (IOException ignored) {
+            }
+            if (this.appendedDuringCompaction != null) {
+                this.appendedDuringCompaction.subList(this.appendedDuringCompaction.size() - records.length, this.appendedDuringCompaction.size()).clear();
+            }
+            return false;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Compaction
+    // ------------------------------------------------------------------------
+
+    /**
+     * Rewrite the log with only the live records, in the background.
+     *
+     * @return A future completing once the compacted log is in place.
+     */
+    public CompletableFuture<Void> compactAsync() {
+        return IoExecutor.run(() -> compact(true));
+    }
+
+    /**
+     * Schedule a compaction once at least half of a sizeable log is garbage.
+     * Must be called while holding the write lock.
+     */
+    private void scheduleCompactionIfNeeded() {
+        if (!this.compacting && needsCompaction()) {
+            IoExecutor.run(() -> compact(false));
+        }
+    }
+
+    private boolean needsCompaction() {
+        return this.logBytes >= COMPACT_MIN_BYTES && this.garbageBytes * 2 >= this.logBytes;
+    }
+
+    private void compact(boolean force) {
+        List<Map.Entry<String, Entry>> live;
+        long garbageAtStart;
+        synchronized (this.writeLock) {
+            if (this.compacting || !open() || (!force && !needsCompaction())) return;
+            this.compacting = true;
+            this.appendedDuringCompaction = new ArrayList<>();
+            // Writers hold the lock, so this copy is one consistent version of the store
+            live = new ArrayList<>(this.index.entrySet());
+            garbageAtStart = this.garbageBytes;
+        }
+
+        Path compactPath = getCompactPath();
+        try {
+            // Copy the live records without blocking writers; they keep appending to the old log meanwhile
+            long position;
+            try (FileChannel out = FileChannel.open(compactPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                position = writeFileHeader(out);
+                for (Map.Entry<String, Entry> entry : live) {
+                    ByteBuffer record = encode(entry.getKey(), entry.getValue().value());
+                    int recordBytes = record.remaining();
+                    writeFully(out, record, position);
+                    position += recordBytes;
+                }
+
+                synchronized (this.writeLock) {
+                    if (this.channel == null) throw new IOException("store was closed");
+                    // Bring the new log up to date with what was appended in the meantime, then swap
+                    for (ByteBuffer record : this.appendedDuringCompaction) {
+                        int recordBytes = record.remaining();
+                        writeFully(out, record, position);
+                        position += recordBytes;
+                    }
+                    out.force(true);
+                    swapLog(compactPath, position, garbageAtStart);
+                }
+            }
+        } catch (IOException e) {
+            this.logger.warning("Failed to compact store " + this.storePath + ": " + e.getMessage());
+        } finally {
+            synchronized (this.writeLock) {
+                this.compacting = false;
+                this.appendedDuringCompaction = null;
+            }
+            try {
+                Files.deleteIfExists(compactPath);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Replace the log with the compacted one. Must be called while holding the write lock.
+     */
+    private void swapLog(Path compactPath, long compactedBytes, long garbageAtStart) throws IOException {
+        Path path = getPath();
+        this.channel.close();
+        try {
+            AtomicFile.replace(compactPath, path);
+        } finally {
+            // Reopen whichever log is in place now; a failed move leaves the old, still complete one
+            FileChannel reopened = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            reopened.position(reopened.size());
+            this.channel = reopened;
+        }
+        this.logBytes = compactedBytes;
+        // Only garbage created by writes during the compaction is left
+        this.garbageBytes -= garbageAtStart;
+    }
+}
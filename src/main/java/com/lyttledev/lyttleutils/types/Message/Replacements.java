@@ -1,13 +1,25 @@
 package com.lyttledev.lyttleutils.types.Message;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class Replacements {
     private final List<ReplacementEntry> entries;
+    // First value per key, matching the order getValueForKey used to scan in
+    private final Map<String, String> values;
+    private volatile KeyMatcher matcher = null;
 
     private Replacements(List<ReplacementEntry> entries) {
-        this.entries = entries;
+        this.entries = Collections.unmodifiableList(entries);
+        this.values = new HashMap<>(Math.max(4, entries.size() * 2));
+        for (ReplacementEntry entry : entries) {
+            this.values.putIfAbsent(entry.getKey(), entry.getValue());
+        }
     }
 
     public static Builder builder() {
@@ -23,7 +35,7 @@ public class Replacements {
         }
 
         public Replacements build() {
-            return new Replacements(entries);
+            return new Replacements(new ArrayList<>(entries));
         }
     }
 
@@ -42,12 +54,25 @@ public class Replacements {
     }
 
     public String getValueForKey(String key) {
-        for (ReplacementEntry entry : entries) {
-            if (entry.getKey().equals(key)) {
-                return entry.getValue();
-            }
+        return values.get(key);
+    }
+
+    /**
+     * Replace every key in the text with its value in a single pass.
+     * At each position the longest matching key wins, and replaced values are never scanned again.
+     *
+     * @param text The text to apply the replacements to
+     * @return The text with all keys replaced, or the same instance when nothing matched
+     */
+    public String apply(String text) {
+        if (text == null || entries.isEmpty()) return text;
+
+        KeyMatcher keyMatcher = matcher;
+        if (keyMatcher == null) {
+            keyMatcher = new KeyMatcher(entries);
+            matcher = keyMatcher;
         }
-        return null;
+        return keyMatcher.apply(text);
     }
 
     @Override
@@ -58,4 +83,71 @@ public class Replacements {
         }
         return sb.toString();
     }
+
+    /**
+     * Deduplicated keys with their values. A pass tracks the next occurrence of every key (found with the
+     * intrinsic String.indexOf) and always fills the leftmost one, so the text is copied once, left to right.
+     */
+    private static final class KeyMatcher {
+        private final String[] keys;
+        private final String[] keyValues;
+        private final int maxGrowth;
+
+        private KeyMatcher(List<ReplacementEntry> entries) {
+            List<String> keyList = new ArrayList<>();
+            List<String> valueList = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            int growth = 0;
+            for (ReplacementEntry entry : entries) {
+                String key = entry.getKey();
+                // Empty keys never match, duplicate keys keep their first value
+                if (key == null || key.isEmpty() || !seen.add(key)) continue;
+                String value = String.valueOf(entry.getValue());
+                keyList.add(key);
+                valueList.add(value);
+                growth = Math.max(growth, value.length() - key.length());
+            }
+            this.keys = keyList.toArray(new String[0]);
+            this.keyValues = valueList.toArray(new String[0]);
+            this.maxGrowth = growth;
+        }
+
+        private String apply(String text) {
+            // Next occurrence of every key at or after the cursor, or -1 once it has none left
+            int[] next = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                next[i] = text.indexOf(keys[i]);
+            }
+
+            StringBuilder builder = null;
+            int cursor = 0;
+            while (true) {
+                // The leftmost occurrence wins; at the same position the longest key
+                int matched = -1;
+                for (int i = 0; i < keys.length; i++) {
+                    int at = next[i];
+                    if (at >= 0 && at < cursor) {
+                        // Overlapped by the last filled key; replaced values are never scanned
+                        at = next[i] = text.indexOf(keys[i], cursor);
+                    }
+                    if (at < 0) continue;
+                    if (matched < 0 || at < next[matched] || (at == next[matched] && keys[i].length() > keys[matched].length())) {
+                        matched = i;
+                    }
+                }
+                if (matched < 0) break;
+
+                if (builder == null) {
+                    builder = new StringBuilder(text.length() + Math.max(16, maxGrowth * 4));
+                }
+                int at = next[matched];
+                builder.append(text, cursor, at).append(keyValues[matched]);
+                cursor = at + keys[matched].length();
+            }
+
+            if (builder == null) return text;
+            builder.append(text, cursor, text.length());
+            return builder.toString();
+        }
+    }
 }
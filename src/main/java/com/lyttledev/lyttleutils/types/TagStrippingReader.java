@@ -0,0 +1,124 @@
+package com.lyttledev.lyttleutils.types;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+/**
+ * Reader that strips YAML type tags ("!!" up to the end of the line) from the text passing through it.
+ * <p>
+ * Lets YamlConfig clean a file while it is being parsed, instead of reading the whole file into a String
+ * and building a cleaned copy of it. Matches the old {@code replaceAll("!!.+", "")}: a "!!" is only
+ * stripped when at least one more character follows it on the same line.
+ */
+final class TagStrippingReader extends Reader {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private boolean eof = false;
+    // Inside a stripped tag, dropping characters until the end of the line
+    private boolean skipping = false;
+    private boolean stripped = false;
+
+    TagStrippingReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Strip type tags from text that is already in memory.
+     *
+     * @param text The YAML text
+     * @return The text without type tags; the same instance if it has none
+     */
+    static String strip(String text) {
+        // Almost no file has tags, so avoid copying those that do not
+        if (text.indexOf("!!") < 0) return text;
+
+        StringBuilder builder = new StringBuilder(text.length());
+        try (TagStrippingReader reader = new TagStrippingReader(new StringReader(text))) {
+            char[] chunk = new char[BUFFER_SIZE];
+            int read;
+            while ((read = reader.read(chunk, 0, chunk.length)) >= 0) {
+                builder.append(chunk, 0, read);
+            }
+        } catch (IOException e) {
+            // A StringReader does not fail
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Whether any type tag was stripped from the text read so far.
+     */
+    boolean hasStripped() {
+        return stripped;
+    }
+
+    @Override
+    public int read(char[] target, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+
+        int count = 0;
+        while (count < length) {
+            if (position >= limit && !_fill(1)) break;
+            char c = buffer[position++];
+
+            if (skipping) {
+                if (c != '\n' && c != '\r') continue;
+                skipping = false;
+            } else if (c == '!' && _isTagStart()) {
+                skipping = true;
+                stripped = true;
+                continue;
+            }
+            target[offset + count++] = c;
+        }
+        return count == 0 && eof ? -1 : count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Buffer
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Whether the '!' just read starts a tag: a second '!' followed by anything but a line break.
+     */
+    private boolean _isTagStart() throws IOException {
+        if (!_fill(2)) return false;
+        char next = buffer[position + 1];
+        return buffer[position] == '!' && next != '\n' && next != '\r';
+    }
+
+    /**
+     * Make sure at least needed characters are buffered after the current position.
+     *
+     * @return false if the input ends before that
+     */
+    private boolean _fill(int needed) throws IOException {
+        if (limit - position >= needed) return true;
+        if (eof) return false;
+
+        // Keep the unread characters and refill behind them
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        limit -= position;
+        position = 0;
+        while (limit < needed) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+                return false;
+            }
+            limit += read;
+        }
+        return true;
+    }
+}
@@ -1,18 +1,39 @@
 package com.lyttledev.lyttleutils.types;
 
+import com.lyttledev.lyttleutils.utils.storage.AtomicFile;
+import com.lyttledev.lyttleutils.utils.storage.BinarySnapshot;
+import com.lyttledev.lyttleutils.utils.storage.IoExecutor;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.MemoryConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
 
 /**
  * YamlConfig utility class for managing plugin configuration files.
@@ -21,12 +42,45 @@ import java.util.Set;
  * <p>
  * All get* methods support an optional defaultValue parameter.
  * If the key does not exist, returns the default (or null if not set).
+ * <p>
+ * By default every set/remove is written to disk immediately. With {@link #setWriteBehind(long)}
+ * mutations only mark the config dirty and are coalesced into a single background write;
+ * call {@link #flush()} before shutdown to persist pending changes.
+ * <p>
+ * Writes are atomic (temp file + move), so a crash mid-write never leaves a truncated file.
+ * With {@link #setKeepBackup(boolean)} the previous generation is kept as a .bak file,
+ * which is loaded instead when the config itself is missing or broken.
+ * <p>
+ * Readers never block: the config is published as an immutable snapshot through a volatile
+ * reference, and writers build a new snapshot that shares everything they did not change with the
+ * previous one, and swap it in. A reader (including async tasks and the GlobalConfig watcher)
+ * always sees one consistent version of the whole config.
  */
 public class YamlConfig {
+    // Configs with changes that are not written yet
+    private static final Set<YamlConfig> PENDING = ConcurrentHashMap.newKeySet();
+    // Bukkit's default path separator, which all configs here use
+    private static final char PATH_SEPARATOR = '.';
+    // Edits a snapshot overlay collects before the next write starts a new one on top of the full config
+    private static final int MAX_EDITS = 128;
+
     private final String pluginFolderPath;
     private final String configPath;
-    private YamlConfiguration config = null;
-    private final JavaPlugin plugin;
+    private volatile @Nullable Snapshot snapshot = null;
+    private final Logger logger;
+    private final ConfigSubscriptions subscriptions = new ConfigSubscriptions();
+
+    // Serializes writers swapping in a new snapshot, and guards the dirty state
+    private final Object lock = new Object();
+    // Serializes file writes so an older snapshot never overwrites a newer one
+    private final Object writeLock = new Object();
+    private long writeBehindMillis = 0;
+    private boolean dirty = false;
+    private @Nullable ScheduledFuture<?> scheduledFlush = null;
+    private volatile boolean keepBackup = false;
+    // CRC32C of the file content as last read or written by this instance
+    private volatile long knownChecksum = -1;
+    private volatile boolean binarySnapshot = false;
 
     /**
      * Initialize YamlConfig with plugin and config file path.
@@ -35,9 +89,232 @@ public class YamlConfig {
      * @param configPath The config file name or relative path.
      */
     public YamlConfig(JavaPlugin plugin, String configPath) {
-        this.pluginFolderPath = plugin.getDataFolder().getPath();
+        this(plugin.getDataFolder().getPath(), configPath, plugin.getLogger());
+    }
+
+    /**
+     * Initialize YamlConfig on a file outside a plugin's data folder (e.g. in tests and benchmarks).
+     *
+     * @param file   The config file.
+     * @param logger The logger to report failures to.
+     */
+    YamlConfig(Path file, Logger logger) {
+        this(file.toAbsolutePath().getParent().toString(), file.getFileName().toString(), logger);
+    }
+
+    private YamlConfig(String pluginFolderPath, String configPath, Logger logger) {
+        this.pluginFolderPath = pluginFolderPath;
         this.configPath = configPath;
-        this.plugin = plugin;
+        this.logger = logger;
+    }
+
+    /**
+     * An immutable version of the config.
+     * <p>
+     * A snapshot is either a full YamlConfiguration with its flattened path -> value index, or an overlay:
+     * such a full snapshot as base plus the sets and removes made since, in order. A set copies only the
+     * overlay, never the whole config, and lookups resolve through the overlay before falling back to the
+     * base index. Sections changed by the overlay are rebuilt on demand from just their subtree. The full
+     * YamlConfiguration of an overlay is only built when it is needed (to save it, in write-behind mode once
+     * per flush), and after {@link #MAX_EDITS} edits the next write starts a new overlay on top of it.
+     * <p>
+     * Published snapshots are never modified; writers build a new one and swap it in.
+     */
+    private static final class Snapshot {
+        // Marks a rebuilt path that does not exist
+        private static final Object MISSING = new Object();
+        // Marks a removed path in the edits; its parent section existed when it was removed
+        private static final Object REMOVED = new Object();
+
+        private final @Nullable Snapshot base;
+        // Edited path -> new value (or REMOVED); no edited path lies below another one
+        private final Map<String, Object> edits;
+        // Every parent path of an edited path, whose sections differ from the base
+        private final Set<String> touched;
+        // The full config; for an overlay built on first use, building twice is harmless
+        private volatile @Nullable YamlConfiguration config;
+        // Built on first lookup of a full snapshot
+        private volatile @Nullable Map<String, Object> index = null;
+        // Values rebuilt for the sections an overlay changed, by path
+        private final Map<String, Object> rebuilt = new ConcurrentHashMap<>();
+
+        private Snapshot(YamlConfiguration config) {
+            this.base = null;
+            this.edits = Collections.emptyMap();
+            this.touched = Collections.emptySet();
+            this.config = config;
+        }
+
+        private Snapshot(Snapshot base, Map<String, Object> edits, Set<String> touched) {
+            this.base = base;
+            this.edits = edits;
+            this.touched = touched;
+            this.config = null;
+        }
+
+        private YamlConfiguration config() {
+            YamlConfiguration current = this.config;
+            if (current == null) {
+                current = copyOf(this.base.config());
+                for (Map.Entry<String, Object> edit : this.edits.entrySet()) {
+                    apply(current, edit.getKey(), edit.getValue());
+                }
+                this.config = current;
+            }
+            return current;
+        }
+
+        private Map<String, Object> index() {
+            Map<String, Object> current = this.index;
+            if (current == null) {
+                current = Collections.unmodifiableMap(new HashMap<>(this.config().getValues(true)));
+                this.index = current;
+            }
+            return current;
+        }
+
+        /**
+         * Get the value at path (a ConfigurationSection for sections), or null if not present.
+         */
+        private @Nullable Object lookup(String path) {
+            // Like Bukkit, the empty path is the root section itself
+            if (path.isEmpty()) return this.config();
+
+            Snapshot base = this.base;
+            if (base == null) return this.index().get(path);
+
+            if (this.edits.containsKey(path)) {
+                Object value = this.edits.get(path);
+                if (value == REMOVED) return null;
+                return isBranch(value) ? this.rebuild(path) : value;
+            }
+            for (int dot = path.lastIndexOf(PATH_SEPARATOR); dot > 0; dot = path.lastIndexOf(PATH_SEPARATOR, dot - 1)) {
+                String parent = path.substring(0, dot);
+                if (this.edits.containsKey(parent)) {
+                    // Below a removed or replaced value nothing is left, unless it was replaced by a section
+                    return isBranch(this.edits.get(parent)) ? this.rebuild(path) : null;
+                }
+            }
+            return this.touched.contains(path) ? this.rebuild(path) : base.lookup(path);
+        }
+
+        /**
+         * A new snapshot with one more edit. Copies only the overlay, unless this is a full snapshot, the overlay
+         * is full, the path lies below an edited one or sets a removed one again (which moves it to the end of
+         * its section); then it starts a new overlay on top of this snapshot.
+         */
+        private Snapshot with(String path, @Nullable Object value) {
+            if (value == null) {
+                // Like Bukkit, removing a path whose parent section does not exist changes nothing
+                int dot = path.lastIndexOf(PATH_SEPARATOR);
+                if (dot > 0 && !(this.lookup(path.substring(0, dot)) instanceof ConfigurationSection)) return this;
+                value = REMOVED;
+            }
+
+            Snapshot base = this.base;
+            Map<String, Object> edits = this.edits;
+            Set<String> touched = new HashSet<>(this.touched);
+            if (base == null) {
+                base = this;
+            } else if (edits.size() >= MAX_EDITS || this.hasEditedParent(path) || edits.get(path) == REMOVED) {
+                base = new Snapshot(this.config());
+                edits = Collections.emptyMap();
+                touched.clear();
+            }
+
+            // The new value replaces every edit at or below it, and takes the place of the first one,
+            // which is where its sections were created
+            Map<String, Object> next = new LinkedHashMap<>();
+            String prefix = path + PATH_SEPARATOR;
+            boolean placed = false;
+            for (Map.Entry<String, Object> edit : edits.entrySet()) {
+                String edited = edit.getKey();
+                if (!edited.equals(path) && !edited.startsWith(prefix)) {
+                    next.put(edited, edit.getValue());
+                } else if (!placed) {
+                    next.put(path, value);
+                    placed = true;
+                }
+            }
+            if (!placed) next.put(path, value);
+
+            for (int dot = path.lastIndexOf(PATH_SEPARATOR); dot > 0; dot = path.lastIndexOf(PATH_SEPARATOR, dot - 1)) {
+                touched.add(path.substring(0, dot));
+            }
+            return new Snapshot(base, next, touched);
+        }
+
+        private boolean hasEditedParent(String path) {
+            for (int dot = path.lastIndexOf(PATH_SEPARATOR); dot > 0; dot = path.lastIndexOf(PATH_SEPARATOR, dot - 1)) {
+                if (this.edits.containsKey(path.substring(0, dot))) return true;
+            }
+            return false;
+        }
+
+        private @Nullable Object rebuild(String path) {
+            Object value = this.rebuilt.get(path);
+            if (value == null) {
+                value = this.rebuildSubtree(path);
+                this.rebuilt.put(path, value != null ? value : MISSING);
+            }
+            return value == MISSING ? null : value;
+        }
+
+        /**
+         * Rebuild the value at path from only the part of the config it depends on: the base subtree
+         * under the nearest edited path (or path itself), with the edits at or below it applied in order.
+         */
+        private @Nullable Object rebuildSubtree(String path) {
+            String root = path;
+            for (int dot = path.lastIndexOf(PATH_SEPARATOR); dot > 0; dot = path.lastIndexOf(PATH_SEPARATOR, dot - 1)) {
+                String parent = path.substring(0, dot);
+                if (this.edits.containsKey(parent)) {
+                    root = parent;
+                    break;
+                }
+            }
+
+            MemoryConfiguration partial = new MemoryConfiguration();
+            if (!this.edits.containsKey(root)) {
+                Object baseValue = this.base.lookup(root);
+                if (baseValue instanceof ConfigurationSection section) {
+                    partial.createSection(root);
+                    for (Map.Entry<String, Object> entry : section.getValues(true).entrySet()) {
+                        String entryPath = root + PATH_SEPARATOR + entry.getKey();
+                        if (entry.getValue() instanceof ConfigurationSection child) {
+                            if (child.getKeys(false).isEmpty()) partial.createSection(entryPath);
+                        } else {
+                            partial.set(entryPath, entry.getValue());
+                        }
+                    }
+                } else if (baseValue != null) {
+                    partial.set(root, baseValue);
+                }
+            }
+
+            String prefix = root + PATH_SEPARATOR;
+            for (Map.Entry<String, Object> edit : this.edits.entrySet()) {
+                if (edit.getKey().equals(root) || edit.getKey().startsWith(prefix)) apply(partial, edit.getKey(), edit.getValue());
+            }
+            return partial.get(path);
+        }
+
+        private static void apply(ConfigurationSection target, String path, Object value) {
+            if (value != REMOVED) {
+                target.set(path, value);
+                return;
+            }
+            // The parent existed when the value was removed, even if only an edit created it
+            int dot = path.lastIndexOf(PATH_SEPARATOR);
+            if (dot > 0 && !(target.get(path.substring(0, dot)) instanceof ConfigurationSection)) {
+                target.createSection(path.substring(0, dot));
+            }
+            target.set(path, null);
+        }
+
+        private static boolean isBranch(@Nullable Object value) {
+            return value instanceof Map || value instanceof ConfigurationSection;
+        }
     }
 
     /**
@@ -47,35 +324,196 @@ public class YamlConfig {
      * @return YamlConfiguration instance or null if failed.
      */
     private YamlConfiguration getConfig() {
-        if (this.config == null) {
-            try {
-                // read the config as a string
-                String originalConfigString = Files.readString(Paths.get(this.pluginFolderPath, this.configPath));
+        Snapshot current = this.current();
+        return current != null ? current.config() : null;
+    }
 
-                // clean the config string
-                String configString = this.cleanConfig(originalConfigString);
+    /**
+     * Get the current snapshot, loading it from disk on first use.
+     * If loading fails, logs error and returns null.
+     */
+    private @Nullable Snapshot current() {
+        Snapshot current = this.snapshot;
+        if (current == null) {
+            current = this.loadSnapshot();
+            if (current == null) {
+                this.logger.severe("Failed to load config " + this.configPath);
+            }
+        }
+        return current;
+    }
 
-                // load the config from the string
-                this.config = new YamlConfiguration();
-                this.config.loadFromString(configString);
+    private @Nullable Snapshot loadSnapshot() {
+        Snapshot loaded;
+        boolean cleaned = false;
+        synchronized (this.lock) {
+            if (this.snapshot != null) return this.snapshot;
 
-                // Save the cleaned config back to the file if it has changed
-                if (!configString.equals(originalConfigString)) {
-                    this.saveConfig();
-                }
+            YamlConfiguration config;
+            try {
+                // load the config, cleaning it while it is read
+                ParsedFile parsed = this.parseFile();
+                config = parsed.config();
+                cleaned = parsed.cleaned();
             } catch (InvalidConfigurationException | IOException var3) {
-                this.config = null;
+                config = this.loadBackup();
             }
+
+            if (config == null) return null;
+            loaded = new Snapshot(config);
+            this.snapshot = loaded;
         }
 
-        if (this.config == null) {
-            this.plugin.getLogger().severe("Failed to load config " + this.configPath);
+        // Save the cleaned config back to the file if it has changed
+        if (cleaned) {
+            this.saveConfig();
+        }
+        return loaded;
+    }
+
+    /**
+     * Loads the backup kept by atomic writes, if there is one.
+     *
+     * @return The backup config, or null if there is no usable backup.
+     */
+    private @Nullable YamlConfiguration loadBackup() {
+        String backupString = AtomicFile.readBackup(this.getPath());
+        if (backupString == null) return null;
+
+        try {
+            YamlConfiguration backup = new YamlConfiguration();
+            backup.loadFromString(this.cleanConfig(backupString));
+            this.logger.warning("Config " + this.configPath + " could not be read; loaded its backup instead");
+            return backup;
+        } catch (InvalidConfigurationException e) {
             return null;
-        } else {
-            return this.config;
         }
     }
 
+    /**
+     * A config parsed from the file, and whether type tags had to be stripped from it.
+     */
+    private record ParsedFile(YamlConfiguration config, boolean cleaned) {}
+
+    /**
+     * Parse the config file while stripping type tags and computing its checksum in the same pass.
+     * Bukkit's load(Reader) still reads the whole (already cleaned) text into a String before parsing,
+     * but no separate raw copy and regex-cleaned copy of the file are built next to it.
+     * Sets the known checksum once the file is parsed.
+     */
+    private ParsedFile parseFile() throws IOException, InvalidConfigurationException {
+        if (this.binarySnapshot) {
+            BinarySnapshot.Contents contents = BinarySnapshot.read(this.getPath());
+            YamlConfiguration config = contents != null ? fromSnapshotTree(contents.root()) : null;
+            if (config != null) {
+                this.knownChecksum = contents.checksum();
+                return new ParsedFile(config, false);
+            }
+        }
+
+        CheckedInputStream input = new CheckedInputStream(Files.newInputStream(this.getPath()), new CRC32C());
+        try (TagStrippingReader reader = new TagStrippingReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            YamlConfiguration config = new YamlConfiguration();
+            config.load(reader);
+            this.knownChecksum = input.getChecksum().getValue();
+            // The snapshot was missing or stale, so rebuild it for the next load
+            if (this.binarySnapshot) this.writeBinarySnapshot(config, this.knownChecksum);
+            return new ParsedFile(config, reader.hasStripped());
+        }
+    }
+
+    /**
+     * Keep a binary snapshot of the parsed config next to the file, loaded instead of parsing the YAML
+     * as long as the file is unchanged. Worth it for large data files; set it before the first access.
+     * Configs holding serialized objects (e.g. item stacks) are always parsed from text.
+     *
+     * @param enabled Whether to use a binary snapshot.
+     */
+    public void setBinarySnapshot(boolean enabled) {
+        this.binarySnapshot = enabled;
+    }
+
+    /**
+     * Rebuild the binary snapshot in the background. The config must be a published (never modified) one.
+     */
+    private void writeBinarySnapshot(YamlConfiguration config, long checksum) {
+        IoExecutor.run(() -> BinarySnapshot.write(this.getPath(), checksum, toSnapshotTree(config)));
+    }
+
+    /**
+     * Convert a config to the tree stored in a binary snapshot: header, footer and every path
+     * (in parent-first order) with its value and comments. Sections are stored as empty maps.
+     */
+    private static Map<String, Object> toSnapshotTree(YamlConfiguration config) {
+        List<Object> entries = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : config.getValues(true).entrySet()) {
+            String path = entry.getKey();
+            Object value = entry.getValue() instanceof ConfigurationSection ? Collections.emptyMap() : entry.getValue();
+            entries.add(Arrays.asList(path, value, config.getComments(path), config.getInlineComments(path)));
+        }
+
+        Map<String, Object> tree = new HashMap<>();
+        tree.put("header", config.options().getHeader());
+        tree.put("footer", config.options().getFooter());
+        tree.put("entries", entries);
+        return tree;
+    }
+
+    /**
+     * Rebuild a config from a binary snapshot tree, mirroring {@link #copyOf(YamlConfiguration)}.
+     *
+     * @return The config, or null if the tree does not have the expected shape.
+     */
+    @SuppressWarnings("unchecked")
+    private static @Nullable YamlConfiguration fromSnapshotTree(@Nullable Object root) {
+        try {
+            Map<String, Object> tree = (Map<String, Object>) root;
+            YamlConfiguration config = new YamlConfiguration();
+            config.options().setHeader((List<String>) tree.get("header"));
+            config.options().setFooter((List<String>) tree.get("footer"));
+            for (Object item : (List<Object>) tree.get("entries")) {
+                List<Object> entry = (List<Object>) item;
+                String path = (String) entry.get(0);
+                if (entry.get(1) instanceof Map) {
+                    config.createSection(path);
+                } else {
+                    config.set(path, entry.get(1));
+                }
+                config.setComments(path, (List<String>) entry.get(2));
+                config.setInlineComments(path, (List<String>) entry.get(3));
+            }
+            return config;
+        } catch (ClassCastException | NullPointerException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compute the checksum of the file without decoding it.
+     */
+    private long fileChecksum() throws IOException {
+        return BinarySnapshot.checksum(this.getPath());
+    }
+
+    private static long checksum(String content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private Path getPath() {
+        return Paths.get(this.pluginFolderPath, this.configPath);
+    }
+
+    /**
+     * Keep the previous generation of the file as a .bak backup on every save.
+     *
+     * @param keepBackup Whether to keep a backup.
+     */
+    public void setKeepBackup(boolean keepBackup) {
+        this.keepBackup = keepBackup;
+    }
+
     /**
      * Cleans config string for YAML parsing (removes type tags).
      *
@@ -83,38 +521,248 @@ public class YamlConfig {
      * @return Cleaned string.
      */
     private String cleanConfig(String configString) {
-        // Remove type tags and unsafe YAML constructs
-        configString = configString.replaceAll("!!.+", "");
-        return configString;
+        // Remove type tags and unsafe YAML constructs (returns the same string when there are none)
+        return TagStrippingReader.strip(configString);
     }
 
     /**
      * Saves the current config state to disk.
-     * Attempts to clean and rewrite YAML for safety.
+     * The serialized YAML is cleaned and written as is, the in-memory config is left untouched.
      */
     private void saveConfig() {
-        try {
-            String originalConfigString = this.config.saveToString();
+        synchronized (this.writeLock) {
+            String configString;
+            YamlConfiguration saved;
+            synchronized (this.lock) {
+                Snapshot current = this.snapshot;
+                if (current == null) return;
+                saved = current.config();
+                configString = this.cleanConfig(saved.saveToString());
+                this.dirty = false;
+                PENDING.remove(this);
+            }
 
             try {
-                String configString = this.cleanConfig(originalConfigString);
-                this.config.loadFromString(configString);
-                this.config.save(new File(this.pluginFolderPath, this.configPath));
-            } catch (IOException var3) {
-                // Saving failed silently; consider logging
+                AtomicFile.write(this.getPath(), configString, this.keepBackup);
+                this.knownChecksum = checksum(configString);
+                if (this.binarySnapshot) this.writeBinarySnapshot(saved, this.knownChecksum);
+            } catch (IOException e) {
+                this.logger.severe("Failed to save config " + this.configPath + ": " + e.getMessage());
             }
+        }
+    }
 
-            this.config.loadFromString(originalConfigString);
-        } catch (InvalidConfigurationException var4) {
-            // Loading failed silently; consider logging
+    /**
+     * Mark the config dirty after a mutation and schedule the write-behind flush.
+     * Must be called while holding the lock.
+     *
+     * @return true if the caller must save right away (write-behind disabled), after releasing the lock.
+     */
+    private boolean markDirty() {
+        this.dirty = true;
+        if (this.writeBehindMillis <= 0) return true;
+
+        PENDING.add(this);
+        // Coalesce: one scheduled write picks up every mutation made until it runs
+        if (this.scheduledFlush == null || this.scheduledFlush.isDone()) {
+            this.scheduledFlush = IoExecutor.schedule(this::flush, this.writeBehindMillis);
+            // LyttleUtils is shutting down, so nothing would run the flush: write right away
+            if (this.scheduledFlush == null) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Enable or disable write-behind mode.
+     * When enabled, set/remove only mark the config dirty and a background write happens
+     * at most debounceMillis later, covering every mutation made in the meantime.
+     *
+     * @param debounceMillis The delay before pending changes are written, 0 to write on every mutation.
+     */
+    public void setWriteBehind(long debounceMillis) {
+        synchronized (this.lock) {
+            this.writeBehindMillis = Math.max(0, debounceMillis);
+        }
+        if (debounceMillis <= 0) this.flush();
+    }
+
+    /**
+     * Write pending changes to disk now. Does nothing if there are none.
+     * Call this on plugin disable when write-behind mode is used.
+     */
+    public void flush() {
+        synchronized (this.lock) {
+            if (!this.dirty) return;
+            if (this.scheduledFlush != null) {
+                this.scheduledFlush.cancel(false);
+                this.scheduledFlush = null;
+            }
+        }
+        this.saveConfig();
+    }
+
+    /**
+     * Write pending changes of every config in write-behind mode.
+     * Called by LyttleUtils on disable as a safety net.
+     */
+    public static void flushAll() {
+        for (YamlConfig config : PENDING) {
+            config.flush();
         }
     }
 
     /**
      * Force reload from file.
+     * Changes still pending in write-behind mode are discarded.
      */
     public void reload() {
-        this.config = YamlConfiguration.loadConfiguration(new File(this.pluginFolderPath, this.configPath));
+        this.reloadFromFile();
+    }
+
+    /**
+     * Load the config from disk on the shared I/O executor, so later getters never hit the disk.
+     * Call this from onEnable to preload. Does nothing if the config is loaded already.
+     *
+     * @return A future completing once the config is loaded, or exceptionally if it could not be loaded.
+     */
+    public CompletableFuture<Void> loadAsync() {
+        return IoExecutor.run(() -> {
+            if (this.current() == null) throw new IllegalStateException("Failed to load config " + this.configPath);
+        });
+    }
+
+    /**
+     * Write the current config to disk on the shared I/O executor, including changes pending in write-behind mode.
+     *
+     * @return A future completing once the file is written.
+     */
+    public CompletableFuture<Void> saveAsync() {
+        return IoExecutor.run(this::saveConfig);
+    }
+
+    /**
+     * Reload the config from disk on the shared I/O executor. See {@link #reload()}.
+     *
+     * @return A future completing once the new snapshot is in place and listeners have run.
+     */
+    public CompletableFuture<Void> reloadAsync() {
+        return IoExecutor.run(this::reload);
+    }
+
+    /**
+     * Reload only if the file content differs from what this instance last read or wrote.
+     * Lets file watchers skip no-op reloads, such as the events caused by our own saves.
+     *
+     * @return true if the config was reloaded.
+     */
+    public boolean reloadIfChanged() {
+        try {
+            if (this.fileChecksum() == this.knownChecksum) return false;
+        } catch (IOException e) {
+            // Missing or unreadable right now; a following event will pick up the change
+            return false;
+        }
+
+        this.reloadFromFile();
+        return true;
+    }
+
+    private void reloadFromFile() {
+        YamlConfiguration loaded = null;
+        String error = "file could not be read";
+        try {
+            loaded = this.parseFile().config();
+        } catch (InvalidConfigurationException e) {
+            error = e.getMessage();
+        } catch (IOException e) {
+            // Falls back to the backup below
+        }
+
+        if (loaded == null) {
+            loaded = this.loadBackup();
+            if (loaded == null) {
+                this.logger.severe("Failed to reload config " + this.configPath + ": " + error);
+                loaded = new YamlConfiguration();
+            }
+        }
+
+        Snapshot before;
+        Snapshot after = new Snapshot(loaded);
+        synchronized (this.lock) {
+            this.discardPending();
+            before = this.snapshot;
+            this.snapshot = after;
+        }
+        this.notifyChanges(before, after);
+    }
+
+    /**
+     * Drop pending write-behind changes. Must be called while holding the lock.
+     */
+    private void discardPending() {
+        this.dirty = false;
+        PENDING.remove(this);
+        if (this.scheduledFlush != null) {
+            this.scheduledFlush.cancel(false);
+            this.scheduledFlush = null;
+        }
+    }
+
+    /**
+     * Subscribe to changes at or below a path prefix (e.g. "messages" or "spawn.x").
+     * The listener receives the changed paths that concern the prefix; on reload these are found by
+     * comparing the old and new snapshot, so an unchanged subtree does not trigger it.
+     * An empty prefix subscribes to every change. Listeners may run on the GlobalConfig watcher thread.
+     *
+     * @param prefix   The path prefix to watch.
+     * @param listener The listener receiving the changed paths.
+     */
+    public void onChange(String prefix, Consumer<Set<String>> listener) {
+        this.subscriptions.add(prefix, listener);
+    }
+
+    /**
+     * Unsubscribe a listener added with {@link #onChange(String, Consumer)}.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeOnChange(Consumer<Set<String>> listener) {
+        this.subscriptions.remove(listener);
+    }
+
+    /**
+     * Notify all listeners of a change to known paths.
+     */
+    private void notifyChanges(Set<String> changed) {
+        this.subscriptions.notify(changed, this.logger, this.configPath);
+    }
+
+    /**
+     * Notify all listeners of a snapshot swap, diffing the snapshots only if anyone subscribed to paths.
+     */
+    private void notifyChanges(@Nullable Snapshot before, Snapshot after) {
+        if (this.subscriptions.isEmpty()) return;
+
+        Map<String, Object> beforeIndex = before != null ? before.index() : Collections.emptyMap();
+        Set<String> changed = ConfigSubscriptions.diff(beforeIndex, after.index(), value -> value instanceof ConfigurationSection);
+        this.subscriptions.notify(changed, this.logger, this.configPath);
+    }
+
+    // ------------------------------------------------------------------------
+    // Flattened index: every path (sections included) mapped to its value,
+    // so a getter resolves with one hash lookup instead of walking sections.
+    // A full snapshot builds its index on first use; an overlay checks its
+    // edits first and shares the index of its base.
+    // ------------------------------------------------------------------------
+
+    /**
+     * Look up the value at path in the current snapshot.
+     *
+     * @return The value (a ConfigurationSection for sections), or null if not present.
+     */
+    private @Nullable Object lookup(String path) {
+        Snapshot current = this.current();
+        return current != null ? current.lookup(path) : null;
     }
 
     // ------------------------------------------------------------------------
@@ -133,8 +781,8 @@ public class YamlConfig {
     }
 
     public @Nullable Object get(String path, @Nullable Object defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path) ? cfg.get(path) : defaultValue;
+        Object value = this.lookup(path);
+        return value != null ? value : defaultValue;
     }
 
     /**
@@ -145,8 +793,8 @@ public class YamlConfig {
     }
 
     public @Nullable String getString(String path, @Nullable String defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path) ? cfg.getString(path) : defaultValue;
+        Object value = this.lookup(path);
+        return value != null ? value.toString() : defaultValue;
     }
 
     /**
@@ -157,8 +805,18 @@ public class YamlConfig {
     }
 
     public @Nullable Integer getInt(String path, @Nullable Integer defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path) ? cfg.getInt(path) : defaultValue;
+        Object value = this.lookup(path);
+        if (value == null) return defaultValue;
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+
+    /**
+     * Get an int from config without boxing, or default if not present.
+     */
+    public int getInt(String path, int defaultValue) {
+        Object value = this.lookup(path);
+        if (value == null) return defaultValue;
+        return value instanceof Number number ? number.intValue() : 0;
     }
 
     /**
@@ -169,8 +827,18 @@ public class YamlConfig {
     }
 
     public @Nullable Long getLong(String path, @Nullable Long defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path) ? cfg.getLong(path) : defaultValue;
+        Object value = this.lookup(path);
+        if (value == null) return defaultValue;
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    /**
+     * Get a long from config without boxing, or default if not present.
+     */
+    public long getLong(String path, long defaultValue) {
+        Object value = this.lookup(path);
+        if (value == null) return defaultValue;
+        return value instanceof Number number ? number.longValue() : 0L;
     }
 
     /**
@@ -181,8 +849,18 @@ public class YamlConfig {
     }
 
     public @Nullable Double getDouble(String path, @Nullable Double defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path) ? cfg.getDouble(path) : defaultValue;
+        Object value = this.lookup(path);
+        if (value == null) return defaultValue;
+        return value instanceof Number number ? number.doubleValue() : 0.0;
+    }
+
+    /**
+     * Get a double from config without boxing, or default if not present.
+     */
+    public double getDouble(String path, double defaultValue) {
+        Object value = this.lookup(path);
+        if (value == null) return defaultValue;
+        return value instanceof Number number ? number.doubleValue() : 0.0;
     }
 
     /**
@@ -193,8 +871,18 @@ public class YamlConfig {
     }
 
     public @Nullable Boolean getBoolean(String path, @Nullable Boolean defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path) ? cfg.getBoolean(path) : defaultValue;
+        Object value = this.lookup(path);
+        if (value == null) return defaultValue;
+        return value instanceof Boolean bool && bool;
+    }
+
+    /**
+     * Get a boolean from config without boxing, or default if not present.
+     */
+    public boolean getBoolean(String path, boolean defaultValue) {
+        Object value = this.lookup(path);
+        if (value == null) return defaultValue;
+        return value instanceof Boolean bool && bool;
     }
 
     /**
@@ -205,8 +893,9 @@ public class YamlConfig {
     }
 
     public @Nullable List<?> getList(String path, @Nullable List<?> defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path) ? cfg.getList(path) : defaultValue;
+        Object value = this.lookup(path);
+        if (value == null) return defaultValue;
+        return value instanceof List<?> list ? list : null;
     }
 
     /**
@@ -217,9 +906,8 @@ public class YamlConfig {
     }
 
     public @Nullable List<String> getStringList(String path, @Nullable List<String> defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        List<String> list = (cfg != null && cfg.contains(path)) ? cfg.getStringList(path) : null;
-        return list != null ? list : defaultValue;
+        Object value = this.lookup(path);
+        return value != null ? toTypedList(value, ConfigurationSection::getStringList) : defaultValue;
     }
 
     /**
@@ -230,9 +918,8 @@ public class YamlConfig {
     }
 
     public @Nullable List<Integer> getIntegerList(String path, @Nullable List<Integer> defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        List<Integer> list = (cfg != null && cfg.contains(path)) ? cfg.getIntegerList(path) : null;
-        return list != null ? list : defaultValue;
+        Object value = this.lookup(path);
+        return value != null ? toTypedList(value, ConfigurationSection::getIntegerList) : defaultValue;
     }
 
     /**
@@ -243,9 +930,8 @@ public class YamlConfig {
     }
 
     public @Nullable List<Double> getDoubleList(String path, @Nullable List<Double> defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        List<Double> list = (cfg != null && cfg.contains(path)) ? cfg.getDoubleList(path) : null;
-        return list != null ? list : defaultValue;
+        Object value = this.lookup(path);
+        return value != null ? toTypedList(value, ConfigurationSection::getDoubleList) : defaultValue;
     }
 
     /**
@@ -256,9 +942,88 @@ public class YamlConfig {
     }
 
     public @Nullable List<Boolean> getBooleanList(String path, @Nullable List<Boolean> defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        List<Boolean> list = (cfg != null && cfg.contains(path)) ? cfg.getBooleanList(path) : null;
-        return list != null ? list : defaultValue;
+        Object value = this.lookup(path);
+        return value != null ? toTypedList(value, ConfigurationSection::getBooleanList) : defaultValue;
+    }
+
+    /**
+     * Get a numeric list as int[], or default if not present.
+     * Entries that are not numbers are skipped, like {@link #getIntegerList(String)}.
+     */
+    public int @Nullable [] getIntArray(String path) {
+        return getIntArray(path, null);
+    }
+
+    public int @Nullable [] getIntArray(String path, int @Nullable [] defaultValue) {
+        if (!(this.lookup(path) instanceof List<?> list)) return defaultValue;
+        int[] values = new int[list.size()];
+        int count = 0;
+        for (Object entry : list) {
+            Number number = toNumber(entry);
+            if (number != null) values[count++] = number.intValue();
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Get a numeric list as long[], or default if not present.
+     */
+    public long @Nullable [] getLongArray(String path) {
+        return getLongArray(path, null);
+    }
+
+    public long @Nullable [] getLongArray(String path, long @Nullable [] defaultValue) {
+        if (!(this.lookup(path) instanceof List<?> list)) return defaultValue;
+        long[] values = new long[list.size()];
+        int count = 0;
+        for (Object entry : list) {
+            Number number = toNumber(entry);
+            if (number != null) values[count++] = number.longValue();
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Get a numeric list as double[], or default if not present.
+     */
+    public double @Nullable [] getDoubleArray(String path) {
+        return getDoubleArray(path, null);
+    }
+
+    public double @Nullable [] getDoubleArray(String path, double @Nullable [] defaultValue) {
+        if (!(this.lookup(path) instanceof List<?> list)) return defaultValue;
+        double[] values = new double[list.size()];
+        int count = 0;
+        for (Object entry : list) {
+            Number number = toNumber(entry);
+            if (number != null) values[count++] = number.doubleValue();
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Run one of Bukkit's typed list getters on a looked up value, so the conversion rules stay Bukkit's.
+     * Like those getters, a value that is not a list gives an empty list.
+     */
+    private static <T> List<T> toTypedList(Object value, BiFunction<ConfigurationSection, String, List<T>> getter) {
+        if (!(value instanceof List<?>)) return new ArrayList<>(0);
+        MemoryConfiguration single = new MemoryConfiguration();
+        single.set("value", value);
+        return getter.apply(single, "value");
+    }
+
+    /**
+     * Convert a list entry to a number, parsing numeric strings like Bukkit's typed list getters.
+     */
+    private static @Nullable Number toNumber(@Nullable Object entry) {
+        if (entry instanceof Number number) return number;
+        if (entry instanceof String string) {
+            try {
+                return Double.valueOf(string.trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return null;
     }
 
     /**
@@ -269,8 +1034,7 @@ public class YamlConfig {
     }
 
     public @Nullable Map<String, Object> getMap(String path, @Nullable Map<String, Object> defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path) ? cfg.getConfigurationSection(path).getValues(false) : defaultValue;
+        return this.lookup(path) instanceof ConfigurationSection section ? section.getValues(false) : defaultValue;
     }
 
     /**
@@ -281,8 +1045,7 @@ public class YamlConfig {
     }
 
     public @Nullable Set<String> getKeySet(String path, @Nullable Set<String> defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path) ? cfg.getConfigurationSection(path).getKeys(false) : defaultValue;
+        return this.lookup(path) instanceof ConfigurationSection section ? section.getKeys(false) : defaultValue;
     }
 
     /**
@@ -293,18 +1056,16 @@ public class YamlConfig {
     }
 
     public @Nullable List<Map<?, ?>> getMapList(String path, @Nullable List<Map<?, ?>> defaultValue) {
-        YamlConfiguration cfg = this.getConfig();
-        List<Map<?, ?>> list = (cfg != null && cfg.contains(path)) ? cfg.getMapList(path) : null;
-        return list != null ? list : defaultValue;
+        Object value = this.lookup(path);
+        return value != null ? toTypedList(value, ConfigurationSection::getMapList) : defaultValue;
     }
 
     /**
      * Get a nested ConfigurationSection at path.
-     * Returns null if not present.
+     * Returns null if not present. The section belongs to a shared snapshot; use set() to change values.
      */
     public @Nullable ConfigurationSection getSection(String path) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path) ? cfg.getConfigurationSection(path) : null;
+        return this.lookup(path) instanceof ConfigurationSection section ? section : null;
     }
 
     // ------------------------------------------------------------------------
@@ -312,15 +1073,21 @@ public class YamlConfig {
     // ------------------------------------------------------------------------
 
     /**
-     * Set a value at path and persist to disk.
+     * Set a value at path and persist to disk (or mark it dirty in write-behind mode).
      *
      * @param path  The config path.
      * @param value The new value.
      */
     public void set(String path, @Nullable Object value) {
-        YamlConfiguration cfg = this.getConfig();
-        cfg.set(path, value);
-        this.saveConfig();
+        if (this.current() == null) return;
+
+        boolean saveNow;
+        synchronized (this.lock) {
+            this.snapshot = this.snapshot.with(path, value);
+            saveNow = this.markDirty();
+        }
+        if (saveNow) this.saveConfig();
+        this.notifyChanges(Set.of(path));
     }
 
     /**
@@ -330,22 +1097,110 @@ public class YamlConfig {
      * @return true if removed, false if not present.
      */
     public boolean remove(String path) {
-        YamlConfiguration cfg = this.getConfig();
-        if (cfg.contains(path)) {
-            cfg.set(path, null);
-            this.saveConfig();
-            return true;
-        } else {
-            return false;
+        if (this.current() == null) return false;
+
+        boolean saveNow;
+        synchronized (this.lock) {
+            if (this.snapshot.lookup(path) == null) return false;
+            this.snapshot = this.snapshot.with(path, null);
+            saveNow = this.markDirty();
         }
+        if (saveNow) this.saveConfig();
+        this.notifyChanges(Set.of(path));
+        return true;
+    }
+
+    /**
+     * Apply many sets and removes as one batch.
+     * The editor runs without holding the config's lock, so a slow callback never blocks other writers:
+     * its changes are collected and applied in one step once it returns. Readers see either none or all
+     * of them, and the file is written once. If the editor throws, nothing changes. A set or remove made
+     * by another thread while the editor runs is kept unless the batch changes the same path.
+     *
+     * @param editor The changes to apply.
+     */
+    public void update(Consumer<ConfigEditor> editor) {
+        Snapshot base = this.current();
+        if (base == null) return;
+
+        // Path -> new value (null removes), in the order the editor made the changes
+        Map<String, Object> edits = new LinkedHashMap<>();
+        // The base with the edits so far, as a private overlay the editor reads through
+        Snapshot[] working = {base};
+        editor.accept(new ConfigEditor() {
+            @Override
+            public @Nullable Object get(String path) {
+                return working[0].lookup(path);
+            }
+
+            @Override
+            public boolean contains(String path) {
+                return working[0].lookup(path) != null;
+            }
+
+            @Override
+            public ConfigEditor set(String path, @Nullable Object value) {
+                // Re-insert so the map keeps the order in which the edits were last made
+                edits.remove(path);
+                edits.put(path, value);
+                working[0] = working[0].with(path, value);
+                return this;
+            }
+
+            @Override
+            public boolean remove(String path) {
+                if (!this.contains(path)) return false;
+                this.set(path, null);
+                return true;
+            }
+        });
+        if (edits.isEmpty()) return;
+
+        boolean saveNow;
+        synchronized (this.lock) {
+            if (this.snapshot == base) {
+                this.snapshot = working[0];
+            } else {
+                // Someone else wrote in the meantime: replay the batch on top of that
+                Snapshot next = this.snapshot;
+                for (Map.Entry<String, Object> edit : edits.entrySet()) {
+                    next = next.with(edit.getKey(), edit.getValue());
+                }
+                this.snapshot = next;
+            }
+            saveNow = this.markDirty();
+        }
+        if (saveNow) this.saveConfig();
+        this.notifyChanges(edits.keySet());
+    }
+
+    /**
+     * Copy all values, (empty) sections and comments of a config into a new one.
+     * Leaf values such as lists are shared, published snapshots never modify them.
+     */
+    private static YamlConfiguration copyOf(YamlConfiguration source) {
+        YamlConfiguration copy = new YamlConfiguration();
+        copy.options().setHeader(source.options().getHeader());
+        copy.options().setFooter(source.options().getFooter());
+        for (Map.Entry<String, Object> entry : source.getValues(true).entrySet()) {
+            String path = entry.getKey();
+            Object value = entry.getValue();
+            if (value instanceof ConfigurationSection section) {
+                if (section.getKeys(false).isEmpty()) copy.createSection(path);
+            } else {
+                copy.set(path, value);
+            }
+            copy.setComments(path, source.getComments(path));
+            copy.setInlineComments(path, source.getInlineComments(path));
+        }
+        return copy;
     }
 
     /**
      * Check existence of key at path.
      */
     public boolean contains(String path) {
-        YamlConfiguration cfg = this.getConfig();
-        return cfg != null && cfg.contains(path);
+        return this.lookup(path) != null;
     }
 
     /**
@@ -366,10 +1221,8 @@ public class YamlConfig {
      * Get all immediate child keys under path as an array.
      */
     public String[] getKeys(String path) {
-        YamlConfiguration cfg = this.getConfig();
-        if (cfg == null || !cfg.contains(path)) return null;
-        Set<String> keys = cfg.getConfigurationSection(path).getKeys(false);
-        return keys.toArray(new String[0]);
+        if (!(this.lookup(path) instanceof ConfigurationSection section)) return null;
+        return section.getKeys(false).toArray(new String[0]);
     }
 
     /**
@@ -379,9 +1232,8 @@ public class YamlConfig {
      * @return All values, or empty array if none.
      */
     public Object[] getAll(String path) {
-        YamlConfiguration cfg = this.getConfig();
-        if (cfg == null || !cfg.contains(path)) return new Object[0];
-        return cfg.getConfigurationSection(path).getValues(false).values().toArray(new Object[0]);
+        if (!(this.lookup(path) instanceof ConfigurationSection section)) return new Object[0];
+        return section.getValues(false).values().toArray(new Object[0]);
     }
 
     /**
@@ -389,6 +1241,10 @@ public class YamlConfig {
      * Use with caution!
      */
     public void clear() {
+        synchronized (this.lock) {
+            this.discardPending();
+        }
+
         File configFile = new File(this.pluginFolderPath, this.configPath);
         YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
 
@@ -397,7 +1253,7 @@ public class YamlConfig {
         }
 
         try {
-            config.save(configFile);
+            AtomicFile.write(configFile.toPath(), config.saveToString(), this.keepBackup);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -5,15 +5,25 @@ import com.lyttledev.lyttleutils.types.Message.Replacements;
 import com.lyttledev.lyttleutils.types.YamlConfig;
 import com.lyttledev.lyttleutils.utils.convertion.Placeholder;
 import com.lyttledev.lyttleutils.utils.storage.GlobalConfig;
+import com.lyttledev.lyttleutils.utils.storage.IoExecutor;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Bukkit;
-import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Message class to handle sending messages to players and console.
@@ -25,6 +35,17 @@ public class Message {
     private final YamlConfig messages;
     private final GlobalConfig global;
     private final MiniMessage miniMessage = MiniMessage.miniMessage();
+    private final Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a render racing with a reload never re-caches stale text
+    private final AtomicLong cacheGeneration = new AtomicLong();
+    private volatile @Nullable PrefixCache prefixCache = null;
+    private volatile @Nullable RenderCache renderCache = null;
+
+    /**
+     * The prefix rendered on its own, and parsed without the legacy pass for combining with a message.
+     */
+    private record PrefixCache(Component rendered, Component raw, boolean legacy) {
+    }
 
     /**
      * Initialize the Message class with the plugin instance and messages configuration.
@@ -37,29 +58,84 @@ public class Message {
         this.messages = messages;
         this.global = global;
         this.console = new Console(plugin);
+
+        // Drop only the compiled templates and rendered messages whose keys changed in either source
+        this.messages.onChange("", paths -> _invalidatePaths(paths, false));
+        this.global.onChange("", paths -> _invalidatePaths(paths, true));
+
+        // Preload messages.yml off the main thread so the first message sent does not read the file
+        this.messages.loadAsync();
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
-    // UTIL: Get Prefix
+    // Render Cache
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Get the prefix from the messages configuration.
+     * Enable the cache of fully rendered messages, keyed by message key, prefix flag and replacements.
+     * Messages that contain PlaceholderAPI placeholders are never cached. Entries are dropped
+     * when their message key (or the prefix) changes in messages.yml or global.yml.
+     *
+     * @param maxSize The maximum number of rendered messages to keep
+     */
+    public void enableRenderCache(int maxSize) {
+        this.renderCache = new RenderCache(maxSize);
+    }
+
+    /**
+     * Disable and drop the render cache.
+     */
+    public void disableRenderCache() {
+        this.renderCache = null;
+    }
+
+    /**
+     * Get the number of render cache hits since the cache was enabled.
+     *
+     * @return The hit count, or 0 when the cache is disabled
+     */
+    public long getRenderCacheHits() {
+        RenderCache cache = renderCache;
+        return cache != null ? cache.getHits() : 0;
+    }
+
+    /**
+     * Get the number of render cache misses since the cache was enabled.
      *
-     * @return The prefix string
+     * @return The miss count, or 0 when the cache is disabled
      */
-    private Component _getPrefix() {
-        return _getMessageFromGlobalConfig("prefix");
+    public long getRenderCacheMisses() {
+        RenderCache cache = renderCache;
+        return cache != null ? cache.getMisses() : 0;
     }
 
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Get Prefix
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
     /**
-     * Get the prefix from the messages configuration based on the enabled state.
+     * Put the prefix in front of a rendered message.
+     * When the prefix uses legacy codes, the legacy pass runs over the combined text like it always did,
+     * so a color left open at the end of the prefix carries into the message.
      *
-     * @param enabled
-     * @return
+     * @param enabled Whether to include the prefix or not
+     * @param message The rendered message
+     * @return The message with the prefix
      */
-    private Component _getPrefix(Boolean enabled) {
-        return enabled ? _getMessageFromGlobalConfig("prefix") : Component.empty();
+    private Component _withPrefix(boolean enabled, Component message) {
+        if (!enabled) return message;
+
+        PrefixCache cache = prefixCache;
+        if (cache == null) {
+            long generation = cacheGeneration.get();
+            MessageTemplate template = _getTemplate("prefix");
+            String source = template.getSource();
+            cache = new PrefixCache(template.render(), miniMessage.deserialize(source), MessageTemplate.hasLegacyCodes(source));
+            if (generation == cacheGeneration.get()) prefixCache = cache;
+        }
+
+        if (!cache.legacy()) return _combineComponents(cache.rendered(), message);
+        return MessageTemplate.applyLegacyCodes(_combineComponents(cache.raw(), message));
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -73,24 +149,33 @@ public class Message {
      * @return The message string
      */
     private Component _getMessageFromGlobalConfig(String messageKey) {
+        return _getTemplate(messageKey).render();
+    }
+
+    /**
+     * Get the raw MiniMessage source for a message key, from global.yml when enabled or messages.yml otherwise.
+     *
+     * @param messageKey The key for the message
+     * @return The message source
+     */
+    private String _getMessageSource(String messageKey) {
         // Check if the global config is enabled
         if (!global.get("enabled").equalsIgnoreCase("true")) {
             // If the global config is not enabled, fallback to messages.yml
-            return _getMessageFromMessagesConfig(messageKey);
+            return _getMessageSourceFromMessagesConfig(messageKey);
         }
 
         @Nullable String message = global.get(messageKey);
 
         if (message == null) {
             // If the message is not found in the global config, fallback to messages.yml
-            return _getMessageFromMessagesConfig(messageKey);
+            return _getMessageSourceFromMessagesConfig(messageKey);
         }
 
-        // If the message is found in the global config, deserialize it using MiniMessage
-        return miniMessage.deserialize(message);
+        return message;
     }
 
-    private Component _getMessageFromMessagesConfig(String messageKey) {
+    private String _getMessageSourceFromMessagesConfig(String messageKey) {
         @Nullable String message = (String) messages.get(messageKey);
         if (message == null) {
             console.log("Message key " + messageKey + " not found in messages.yml");
@@ -102,7 +187,108 @@ public class Message {
             message = "&cOh... I can't react to that. (Contact the Administrators)";
         }
 
-        return miniMessage.deserialize(message);
+        return message;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Message Templates
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Get the compiled template for a message key, compiling it on first use.
+     *
+     * @param messageKey The key for the message
+     * @return The compiled template
+     */
+    private MessageTemplate _getTemplate(String messageKey) {
+        MessageTemplate template = templates.get(messageKey);
+        if (template == null) {
+            long generation = cacheGeneration.get();
+            template = new MessageTemplate(miniMessage, _getMessageSource(messageKey));
+            if (generation == cacheGeneration.get()) templates.put(messageKey, template);
+        }
+        return template;
+    }
+
+    /**
+     * Drop the compiled templates and rendered messages affected by changed config paths.
+     * Changes that can affect every message (the global "enabled" switch, the prefix or the
+     * message_not_found fallback) drop the caches wholesale.
+     *
+     * @param paths      The changed paths
+     * @param fromGlobal Whether the paths changed in global.yml
+     */
+    private void _invalidatePaths(Set<String> paths, boolean fromGlobal) {
+        if ((fromGlobal && paths.contains("enabled")) || paths.contains("prefix") || paths.contains("message_not_found")) {
+            _invalidateCaches();
+            return;
+        }
+
+        cacheGeneration.incrementAndGet();
+        Predicate<String> affected = messageKey -> _isAffected(paths, messageKey);
+        templates.keySet().removeIf(affected);
+
+        RenderCache cache = renderCache;
+        if (cache != null) cache.removeKeys(affected);
+    }
+
+    private static boolean _isAffected(Set<String> paths, String messageKey) {
+        for (String path : paths) {
+            if (messageKey.equals(path)
+                    || (messageKey.startsWith(path) && messageKey.charAt(path.length()) == '.')
+                    || (path.startsWith(messageKey) && path.charAt(messageKey.length()) == '.')) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drop all compiled templates and the cached prefix.
+     */
+    private void _invalidateCaches() {
+        cacheGeneration.incrementAndGet();
+        templates.clear();
+        prefixCache = null;
+
+        RenderCache cache = renderCache;
+        if (cache != null) cache.clear();
+    }
+
+    /**
+     * Render a message key to its final component, prefix included.
+     * Served from the render cache when enabled and the result cannot depend on PlaceholderAPI.
+     *
+     * @param prefix       Whether to include the prefix or not
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message (may be null)
+     * @param player       The player to apply placeholders for (may be null)
+     * @return The rendered message
+     */
+    private Component _render(boolean prefix, String messageKey, @Nullable Replacements replacements, @Nullable Player player) {
+        long generation = cacheGeneration.get();
+        MessageTemplate template = _getTemplate(messageKey);
+        RenderCache cache = template.hasPlaceholders() ? null : renderCache;
+        if (cache != null) {
+            Component cached = cache.get(messageKey, prefix, replacements);
+            if (cached != null) return cached;
+        }
+
+        // The key-only overloads never touch PlaceholderAPI
+        Component message = (replacements == null && player == null) ? template.render() : template.render(replacements, player);
+        Component rendered = _withPrefix(prefix, message);
+
+        // Replacement values can introduce placeholders too; those results depend on the player
+        if (cache != null && !_hasPlaceholderValues(replacements) && generation == cacheGeneration.get()) {
+            cache.put(messageKey, prefix, replacements, rendered);
+        }
+        return rendered;
+    }
+
+    private boolean _hasPlaceholderValues(@Nullable Replacements replacements) {
+        if (replacements == null) return false;
+        for (ReplacementEntry entry : replacements.getAll()) {
+            if (entry.getValue() != null && entry.getValue().indexOf('%') >= 0) return true;
+        }
+        return false;
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -119,9 +305,7 @@ public class Message {
      */
     private Component _replaceMessageStrings(Component message, Replacements replacements, @Nullable Player player) {
         String messageString = miniMessage.serialize(message);
-        for (ReplacementEntry replacement : replacements.getAll()) {
-            messageString = messageString.replace((CharSequence) replacement.getKey(), replacement.getValue());
-        }
+        messageString = replacements.apply(messageString);
 
         // Replace all PlaceholderAPI placeholders
         messageString = Placeholder.parsePlaceholders(player, messageString);
@@ -138,9 +322,7 @@ public class Message {
      */
     private Component _replaceMessageStrings(Component message, Replacements replacements) {
         String messageString = miniMessage.serialize(message);
-        for (ReplacementEntry replacement : replacements.getAll()) {
-            messageString = messageString.replace((CharSequence) replacement.getKey(), replacement.getValue());
-        }
+        messageString = replacements.apply(messageString);
 
         // Replace all PlaceholderAPI placeholders
         messageString = Placeholder.parsePlaceholders(null, messageString);
@@ -169,17 +351,28 @@ public class Message {
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
-     * Send a raw message to a target (Player or ConsoleCommandSender) without the prefix.
+     * Send a raw message to a target without the prefix.
+     * Any Adventure Audience is accepted, which includes every CommandSender as well as
+     * forwarding audiences such as {@code Audience.audience(players)}.
      *
      * @param target  The target to send the message to
      * @param message The message string
      */
     private void _sendMessage(Object target, Component message) {
-        if (target instanceof Player) {
-            ((Player) target).sendMessage(message);
+        if (target instanceof Audience) {
+            ((Audience) target).sendMessage(message);
         }
-        if (target instanceof ConsoleCommandSender) {
-            ((ConsoleCommandSender) target).sendMessage(message);
+    }
+
+    /**
+     * Send an already rendered message to every target.
+     *
+     * @param targets The targets to send the message to
+     * @param message The message string
+     */
+    private void _sendMessageToAll(Collection<? extends CommandSender> targets, Component message) {
+        for (CommandSender target : targets) {
+            _sendMessage(target, message);
         }
     }
 
@@ -210,29 +403,13 @@ public class Message {
         // Convert Component to string with MiniMessage formatting
         String messageString = miniMessage.serialize(message);
 
-        // Replace all \n with real newlines
-        messageString = messageString.replace("\\n", "\n");
-        // Remove all backslashes
-        messageString = messageString.replace("\\", "");
-
-        // Deserialize back to Component
-        Component cleaned = MiniMessage.miniMessage().deserialize(messageString);
+        // Nothing to clean: no \n, backslashes or legacy codes, so skip the re-parse entirely
+        if (messageString.indexOf('\\') < 0 && !MessageTemplate.hasLegacyCodes(messageString)) {
+            return message;
+        }
 
-        // Support legacy color codes by serializing to legacy, then parsing back
-        String legacySerialized = LegacyComponentSerializer.legacyAmpersand().serialize(cleaned);
-        // Return as a Component (MiniMessage tags already handled)
-        return LegacyComponentSerializer.legacyAmpersand().deserialize(legacySerialized);
-    }
-
-    /**
-     * Get a message from the messages configuration with the prefix.
-     *
-     * @param components The message string
-     * @return The formatted message string
-     */
-    private Component _cleanupMessage(Component... components) {
-        Component combined = _combineComponents(components);
-        return _cleanupMessage(combined);
+        // Replace \n with real newlines, remove backslashes and apply legacy color codes
+        return MessageTemplate.renderText(miniMessage, messageString);
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -246,7 +423,7 @@ public class Message {
      * @param messageKey The key for the message
      */
     public void sendMessage(Object target, String messageKey) {
-        Component msg = _cleanupMessage(_getPrefix(), _getMessageFromGlobalConfig(messageKey));
+        Component msg = _render(true, messageKey, null, null);
         _sendMessage(target, msg);
     }
 
@@ -257,7 +434,7 @@ public class Message {
      * @param messageKey The key for the message
      */
     public void sendMessage(boolean prefix, Object target, String messageKey) {
-        Component msg = _cleanupMessage(_getPrefix(prefix), _getMessageFromGlobalConfig(messageKey));
+        Component msg = _render(prefix, messageKey, null, null);
         _sendMessage(target, msg);
     }
 
@@ -269,7 +446,7 @@ public class Message {
      * @param replacements The replacements to be made in the message
      */
     public void sendMessage(Object target, String messageKey, Replacements replacements) {
-        Component msg = _cleanupMessage(_getPrefix(), _replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), replacements));
+        Component msg = _render(true, messageKey, replacements, null);
         _sendMessage(target, msg);
     }
 
@@ -281,7 +458,7 @@ public class Message {
      * @param replacements The replacements to be made in the message
      */
     public void sendMessage(boolean prefix, Object target, String messageKey, Replacements replacements) {
-        Component msg = _cleanupMessage(_getPrefix(prefix), _replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), replacements));
+        Component msg = _render(prefix, messageKey, replacements, null);
         _sendMessage(target, msg);
     }
 
@@ -293,7 +470,7 @@ public class Message {
      * @param player     The player to apply placeholders for
      */
     public void sendMessage(Object target, String messageKey, @Nullable Player player) {
-        Component msg = _cleanupMessage(_getPrefix(), _replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), player));
+        Component msg = _render(true, messageKey, null, player);
         _sendMessage(target, msg);
     }
 
@@ -305,7 +482,7 @@ public class Message {
      * @param player     The player to apply placeholders for
      */
     public void sendMessage(boolean prefix, Object target, String messageKey, @Nullable Player player) {
-        Component msg = _cleanupMessage(_getPrefix(prefix), _replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), player));
+        Component msg = _render(prefix, messageKey, null, player);
         _sendMessage(target, msg);
     }
 
@@ -317,7 +494,7 @@ public class Message {
      * @param player     The player to apply placeholders for
      */
     public void sendMessage(Object target, String messageKey, Replacements replacements, @Nullable Player player) {
-        Component msg = _cleanupMessage(_getPrefix(), _replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), replacements, player));
+        Component msg = _render(true, messageKey, replacements, player);
         _sendMessage(target, msg);
     }
 
@@ -329,10 +506,338 @@ public class Message {
      * @param player     The player to apply placeholders for
      */
     public void sendMessage(boolean prefix, Object target, String messageKey, Replacements replacements, @Nullable Player player) {
-        Component msg = _cleanupMessage(_getPrefix(prefix), _replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), replacements, player));
+        Component msg = _render(prefix, messageKey, replacements, player);
         _sendMessage(target, msg);
     }
 
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Send Message (Multiple Targets)
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Send a message to multiple targets, e.g. the result of SelectorUtil.resolveSelector.
+     * The message is rendered once and shared by all targets.
+     *
+     * @param targets    The targets to send the message to
+     * @param messageKey The key for the message
+     */
+    public void sendMessage(Collection<? extends CommandSender> targets, String messageKey) {
+        _sendMessageToAll(targets, _render(true, messageKey, null, null));
+    }
+
+    /**
+     * Send a message to multiple targets, rendered once and shared by all targets.
+     *
+     * @param prefix     Whether to include the prefix or not
+     * @param targets    The targets to send the message to
+     * @param messageKey The key for the message
+     */
+    public void sendMessage(boolean prefix, Collection<? extends CommandSender> targets, String messageKey) {
+        _sendMessageToAll(targets, _render(prefix, messageKey, null, null));
+    }
+
+    /**
+     * Send a message to multiple targets with replacements, rendered once and shared by all targets.
+     *
+     * @param targets      The targets to send the message to
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     */
+    public void sendMessage(Collection<? extends CommandSender> targets, String messageKey, Replacements replacements) {
+        _sendMessageToAll(targets, _render(true, messageKey, replacements, null));
+    }
+
+    /**
+     * Send a message to multiple targets with replacements, rendered once and shared by all targets.
+     *
+     * @param prefix       Whether to include the prefix or not
+     * @param targets      The targets to send the message to
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     */
+    public void sendMessage(boolean prefix, Collection<? extends CommandSender> targets, String messageKey, Replacements replacements) {
+        _sendMessageToAll(targets, _render(prefix, messageKey, replacements, null));
+    }
+
+    /**
+     * Send a message to multiple targets with placeholders of one player, rendered once and shared by all targets.
+     *
+     * @param targets    The targets to send the message to
+     * @param messageKey The key for the message
+     * @param player     The player to apply placeholders for
+     */
+    public void sendMessage(Collection<? extends CommandSender> targets, String messageKey, @Nullable Player player) {
+        _sendMessageToAll(targets, _render(true, messageKey, null, player));
+    }
+
+    /**
+     * Send a message to multiple targets with placeholders of one player, rendered once and shared by all targets.
+     *
+     * @param prefix     Whether to include the prefix or not
+     * @param targets    The targets to send the message to
+     * @param messageKey The key for the message
+     * @param player     The player to apply placeholders for
+     */
+    public void sendMessage(boolean prefix, Collection<? extends CommandSender> targets, String messageKey, @Nullable Player player) {
+        _sendMessageToAll(targets, _render(prefix, messageKey, null, player));
+    }
+
+    /**
+     * Send a message to multiple targets with replacements and placeholders of one player, rendered once.
+     *
+     * @param targets      The targets to send the message to
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     * @param player       The player to apply placeholders for
+     */
+    public void sendMessage(Collection<? extends CommandSender> targets, String messageKey, Replacements replacements, @Nullable Player player) {
+        _sendMessageToAll(targets, _render(true, messageKey, replacements, player));
+    }
+
+    /**
+     * Send a message to multiple targets with replacements and placeholders of one player, rendered once.
+     *
+     * @param prefix       Whether to include the prefix or not
+     * @param targets      The targets to send the message to
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     * @param player       The player to apply placeholders for
+     */
+    public void sendMessage(boolean prefix, Collection<? extends CommandSender> targets, String messageKey, Replacements replacements, @Nullable Player player) {
+        _sendMessageToAll(targets, _render(prefix, messageKey, replacements, player));
+    }
+
+    /**
+     * Send a message to multiple targets, resolving PlaceholderAPI placeholders for each target that is a player.
+     * The message is parsed once; targets with identical placeholder values share one rendered result.
+     *
+     * @param targets    The targets to send the message to
+     * @param messageKey The key for the message
+     */
+    public void sendMessagePerTarget(Collection<? extends CommandSender> targets, String messageKey) {
+        _sendMessagePerTarget(true, targets, messageKey, null);
+    }
+
+    /**
+     * Send a message to multiple targets, resolving PlaceholderAPI placeholders for each target that is a player.
+     *
+     * @param prefix     Whether to include the prefix or not
+     * @param targets    The targets to send the message to
+     * @param messageKey The key for the message
+     */
+    public void sendMessagePerTarget(boolean prefix, Collection<? extends CommandSender> targets, String messageKey) {
+        _sendMessagePerTarget(prefix, targets, messageKey, null);
+    }
+
+    /**
+     * Send a message to multiple targets with replacements, resolving PlaceholderAPI placeholders for each target that is a player.
+     *
+     * @param targets      The targets to send the message to
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     */
+    public void sendMessagePerTarget(Collection<? extends CommandSender> targets, String messageKey, Replacements replacements) {
+        _sendMessagePerTarget(true, targets, messageKey, replacements);
+    }
+
+    /**
+     * Send a message to multiple targets with replacements, resolving PlaceholderAPI placeholders for each target that is a player.
+     *
+     * @param prefix       Whether to include the prefix or not
+     * @param targets      The targets to send the message to
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     */
+    public void sendMessagePerTarget(boolean prefix, Collection<? extends CommandSender> targets, String messageKey, Replacements replacements) {
+        _sendMessagePerTarget(prefix, targets, messageKey, replacements);
+    }
+
+    private void _sendMessagePerTarget(boolean prefix, Collection<? extends CommandSender> targets, String messageKey, @Nullable Replacements replacements) {
+        if (targets.isEmpty()) return;
+
+        SplicedMessage message = _spliceMessage(prefix, messageKey, replacements);
+        for (CommandSender target : targets) {
+            _sendMessage(target, message.renderFor(target instanceof Player ? (Player) target : null));
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Send Message (Async)
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Render a message off the calling thread and send it to a target (Player or ConsoleCommandSender).
+     * Delivery happens on the main thread, or on the target's region thread for entities.
+     *
+     * @param target     The target to send the message to
+     * @param messageKey The key for the message
+     * @return A future completed with the sent message once it has been delivered
+     */
+    public CompletableFuture<Component> sendMessageAsync(Object target, String messageKey) {
+        return _sendMessageAsync(true, target, messageKey, null, null);
+    }
+
+    /**
+     * Render a message off the calling thread and send it to a target (Player or ConsoleCommandSender).
+     *
+     * @param prefix     Whether to include the prefix or not
+     * @param target     The target to send the message to
+     * @param messageKey The key for the message
+     * @return A future completed with the sent message once it has been delivered
+     */
+    public CompletableFuture<Component> sendMessageAsync(boolean prefix, Object target, String messageKey) {
+        return _sendMessageAsync(prefix, target, messageKey, null, null);
+    }
+
+    /**
+     * Render a message off the calling thread and send it to a target (Player or ConsoleCommandSender) with replacements.
+     *
+     * @param target       The target to send the message to
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     * @return A future completed with the sent message once it has been delivered
+     */
+    public CompletableFuture<Component> sendMessageAsync(Object target, String messageKey, Replacements replacements) {
+        return _sendMessageAsync(true, target, messageKey, replacements, null);
+    }
+
+    /**
+     * Render a message off the calling thread and send it to a target (Player or ConsoleCommandSender) with replacements.
+     *
+     * @param prefix       Whether to include the prefix or not
+     * @param target       The target to send the message to
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     * @return A future completed with the sent message once it has been delivered
+     */
+    public CompletableFuture<Component> sendMessageAsync(boolean prefix, Object target, String messageKey, Replacements replacements) {
+        return _sendMessageAsync(prefix, target, messageKey, replacements, null);
+    }
+
+    /**
+     * Render a message off the calling thread and send it to a target (Player or ConsoleCommandSender) with placeholders.
+     *
+     * @param target     The target to send the message to
+     * @param messageKey The key for the message
+     * @param player     The player to apply placeholders for
+     * @return A future completed with the sent message once it has been delivered
+     */
+    public CompletableFuture<Component> sendMessageAsync(Object target, String messageKey, @Nullable Player player) {
+        return _sendMessageAsync(true, target, messageKey, null, player);
+    }
+
+    /**
+     * Render a message off the calling thread and send it to a target (Player or ConsoleCommandSender) with placeholders.
+     *
+     * @param prefix     Whether to include the prefix or not
+     * @param target     The target to send the message to
+     * @param messageKey The key for the message
+     * @param player     The player to apply placeholders for
+     * @return A future completed with the sent message once it has been delivered
+     */
+    public CompletableFuture<Component> sendMessageAsync(boolean prefix, Object target, String messageKey, @Nullable Player player) {
+        return _sendMessageAsync(prefix, target, messageKey, null, player);
+    }
+
+    /**
+     * Render a message off the calling thread and send it to a target (Player or ConsoleCommandSender) with replacements.
+     *
+     * @param target       The target to send the message to
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     * @param player       The player to apply placeholders for
+     * @return A future completed with the sent message once it has been delivered
+     */
+    public CompletableFuture<Component> sendMessageAsync(Object target, String messageKey, Replacements replacements, @Nullable Player player) {
+        return _sendMessageAsync(true, target, messageKey, replacements, player);
+    }
+
+    /**
+     * Render a message off the calling thread and send it to a target (Player or ConsoleCommandSender) with replacements.
+     *
+     * @param prefix       Whether to include the prefix or not
+     * @param target       The target to send the message to
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     * @param player       The player to apply placeholders for
+     * @return A future completed with the sent message once it has been delivered
+     */
+    public CompletableFuture<Component> sendMessageAsync(boolean prefix, Object target, String messageKey, Replacements replacements, @Nullable Player player) {
+        return _sendMessageAsync(prefix, target, messageKey, replacements, player);
+    }
+
+    private CompletableFuture<Component> _sendMessageAsync(boolean prefix, Object target, String messageKey, @Nullable Replacements replacements, @Nullable Player player) {
+        return _renderMessageAsync(prefix, messageKey, replacements, player)
+                .thenCompose(message -> _callOwningThread(target instanceof Entity ? (Entity) target : null, () -> {
+                    _sendMessage(target, message);
+                    return message;
+                }));
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Async Rendering
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Render a message key on the shared LyttleUtils executor.
+     * Config lookups and replacements run on the calling thread; PlaceholderAPI runs on the
+     * main thread (or the player's region thread), since most expansions are not thread-safe.
+     *
+     * @param prefix       Whether to include the prefix or not
+     * @param messageKey   The key for the message
+     * @param replacements The replacements to be made in the message
+     * @param player       The player to apply placeholders for
+     * @return A future completed with the rendered message
+     */
+    private CompletableFuture<Component> _renderMessageAsync(boolean prefix, String messageKey, @Nullable Replacements replacements, @Nullable Player player) {
+        String text = _getTemplate(messageKey).fill(replacements);
+
+        // Same rule as the sync overloads: the key-only variants never touch PlaceholderAPI.
+        // Without placeholders the result is the same as the sync one, so it goes through the render cache too
+        if ((replacements == null && player == null) || !Placeholder.containsPlaceholders(text)) {
+            return CompletableFuture.supplyAsync(() -> _render(prefix, messageKey, replacements, player), IoExecutor.executor());
+        }
+
+        return _callOwningThread(player, () -> Placeholder.parsePlaceholders(player, text))
+                .thenApplyAsync(filled -> _withPrefix(prefix, MessageTemplate.renderText(miniMessage, filled)), IoExecutor.executor());
+    }
+
+    /**
+     * Run a task on the thread that owns an entity, or on the main thread when there is no entity.
+     * Runs inline when already on the main thread.
+     *
+     * @param entity The entity whose thread to use (may be null)
+     * @param task   The task to run
+     * @return A future completed with the task result
+     */
+    private <T> CompletableFuture<T> _callOwningThread(@Nullable Entity entity, Supplier<T> task) {
+        if (Bukkit.isPrimaryThread()) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable run = () -> {
+            try {
+                future.complete(task.get());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        };
+
+        if (entity != null) {
+            Runnable retired = () -> future.completeExceptionally(new IllegalStateException("Entity was removed before the message could be delivered"));
+            // An entity that is already removed does not schedule the task and does not call retired either
+            if (entity.getScheduler().run(plugin, scheduledTask -> run.run(), retired) == null) retired.run();
+        } else {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, run);
+        }
+        return future;
+    }
+
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Send Raw Message
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -344,7 +849,7 @@ public class Message {
      * @param message The message string
      */
     public void sendMessageRaw(Object target, Component message) {
-        Component msg = _cleanupMessage(_getPrefix(), message);
+        Component msg = _withPrefix(true, _cleanupMessage(message));
         _sendMessage(target, msg);
     }
 
@@ -355,7 +860,7 @@ public class Message {
      * @param message The message string
      */
     public void sendMessageRaw(boolean prefix, Object target, Component message) {
-        Component msg = _cleanupMessage(_getPrefix(prefix), message);
+        Component msg = _withPrefix(prefix, _cleanupMessage(message));
         _sendMessage(target, msg);
     }
 
@@ -366,7 +871,7 @@ public class Message {
      * @param message The message string
      */
     public void sendMessageRaw(Object target, Component message, Replacements replacements) {
-        Component msg = _cleanupMessage(_getPrefix(), _replaceMessageStrings(message, replacements));
+        Component msg = _withPrefix(true, _cleanupMessage(_replaceMessageStrings(message, replacements)));
         _sendMessage(target, msg);
     }
 
@@ -377,7 +882,7 @@ public class Message {
      * @param message The message string
      */
     public void sendMessageRaw(boolean prefix, Object target, Component message, Replacements replacements) {
-        Component msg = _cleanupMessage(_getPrefix(prefix), _replaceMessageStrings(message, replacements));
+        Component msg = _withPrefix(prefix, _cleanupMessage(_replaceMessageStrings(message, replacements)));
         _sendMessage(target, msg);
     }
 
@@ -388,7 +893,7 @@ public class Message {
      * @param message The message string
      */
     public void sendMessageRaw(Object target, Component message, @Nullable Player player) {
-        Component msg = _cleanupMessage(_getPrefix(), _replaceMessageStrings(message, player));
+        Component msg = _withPrefix(true, _cleanupMessage(_replaceMessageStrings(message, player)));
         _sendMessage(target, msg);
     }
 
@@ -399,7 +904,7 @@ public class Message {
      * @param message The message string
      */
     public void sendMessageRaw(boolean prefix, Object target, Component message, @Nullable Player player) {
-        Component msg = _cleanupMessage(_getPrefix(prefix), _replaceMessageStrings(message, player));
+        Component msg = _withPrefix(prefix, _cleanupMessage(_replaceMessageStrings(message, player)));
         _sendMessage(target, msg);
     }
 
@@ -410,7 +915,7 @@ public class Message {
      * @param message The message string
      */
     public void sendMessageRaw(Object target, Component message, Replacements replacements, @Nullable Player player) {
-        Component msg = _cleanupMessage(_getPrefix(), _replaceMessageStrings(message, replacements, player));
+        Component msg = _withPrefix(true, _cleanupMessage(_replaceMessageStrings(message, replacements, player)));
         _sendMessage(target, msg);
     }
 
@@ -421,7 +926,7 @@ public class Message {
      * @param message The message string
      */
     public void sendMessageRaw(boolean prefix, Object target, Component message, Replacements replacements, @Nullable Player player) {
-        Component msg = _cleanupMessage(_getPrefix(prefix), _replaceMessageStrings(message, replacements, player));
+        Component msg = _withPrefix(prefix, _cleanupMessage(_replaceMessageStrings(message, replacements, player)));
         _sendMessage(target, msg);
     }
 
@@ -446,7 +951,7 @@ public class Message {
      * @param message The message string
      */
     public void sendBroadcast(boolean prefix, Component message) {
-        Bukkit.broadcast(_cleanupMessage(_getPrefix(prefix), message));
+        Bukkit.broadcast(_withPrefix(prefix, _cleanupMessage(message)));
     }
 
     /**
@@ -456,8 +961,7 @@ public class Message {
      * @param replacements The replacements to be made in the message
      */
     public void sendBroadcast(String messageKey, Replacements replacements) {
-        Component message = _cleanupMessage(_replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), replacements));
-        sendBroadcast(message);
+        Bukkit.broadcast(_render(false, messageKey, replacements, null));
     }
 
     /**
@@ -467,8 +971,7 @@ public class Message {
      * @param replacements The replacements to be made in the message
      */
     public void sendBroadcast(boolean prefix, String messageKey, Replacements replacements) {
-        Component message = _cleanupMessage(_replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), replacements));
-        sendBroadcast(prefix, message);
+        Bukkit.broadcast(_render(prefix, messageKey, replacements, null));
     }
 
     /**
@@ -478,8 +981,7 @@ public class Message {
      * @param player     The player to apply placeholders for
      */
     public void sendBroadcast(String messageKey, @Nullable Player player) {
-        Component message = _cleanupMessage(_replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), player));
-        sendBroadcast(message);
+        Bukkit.broadcast(_render(false, messageKey, null, player));
     }
 
     /**
@@ -489,8 +991,7 @@ public class Message {
      * @param player     The player to apply placeholders for
      */
     public void sendBroadcast(boolean prefix, String messageKey, @Nullable Player player) {
-        Component message = _cleanupMessage(_replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), player));
-        sendBroadcast(prefix, message);
+        Bukkit.broadcast(_render(prefix, messageKey, null, player));
     }
 
     /**
@@ -501,8 +1002,7 @@ public class Message {
      * @param player       The player to apply placeholders for
      */
     public void sendBroadcast(String messageKey, Replacements replacements, @Nullable Player player) {
-        Component message = _cleanupMessage(_replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), replacements, player));
-        sendBroadcast(message);
+        Bukkit.broadcast(_render(false, messageKey, replacements, player));
     }
 
     /**
@@ -513,8 +1013,77 @@ public class Message {
      * @param player       The player to apply placeholders for
      */
     public void sendBroadcast(boolean prefix, String messageKey, Replacements replacements, @Nullable Player player) {
-        Component message = _cleanupMessage(_replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), replacements, player));
-        sendBroadcast(prefix, message);
+        Bukkit.broadcast(_render(prefix, messageKey, replacements, player));
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Send Broadcast (Per Player)
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Send a message to all players on the server, resolving PlaceholderAPI placeholders for each player.
+     * The message is parsed once; only the placeholder values are resolved and spliced in per player.
+     *
+     * @param messageKey The message key
+     */
+    public void sendBroadcastPerPlayer(String messageKey) {
+        _sendBroadcastPerPlayer(false, messageKey, null);
+    }
+
+    /**
+     * Send a message to all players on the server, resolving PlaceholderAPI placeholders for each player.
+     *
+     * @param prefix     Whether to include the prefix or not
+     * @param messageKey The message key
+     */
+    public void sendBroadcastPerPlayer(boolean prefix, String messageKey) {
+        _sendBroadcastPerPlayer(prefix, messageKey, null);
+    }
+
+    /**
+     * Send a message to all players on the server, resolving PlaceholderAPI placeholders for each player.
+     *
+     * @param messageKey   The message key
+     * @param replacements The replacements to be made in the message
+     */
+    public void sendBroadcastPerPlayer(String messageKey, Replacements replacements) {
+        _sendBroadcastPerPlayer(false, messageKey, replacements);
+    }
+
+    /**
+     * Send a message to all players on the server, resolving PlaceholderAPI placeholders for each player.
+     *
+     * @param prefix       Whether to include the prefix or not
+     * @param messageKey   The message key
+     * @param replacements The replacements to be made in the message
+     */
+    public void sendBroadcastPerPlayer(boolean prefix, String messageKey, Replacements replacements) {
+        _sendBroadcastPerPlayer(prefix, messageKey, replacements);
+    }
+
+    private void _sendBroadcastPerPlayer(boolean prefix, String messageKey, @Nullable Replacements replacements) {
+        SplicedMessage message = _spliceMessage(prefix, messageKey, replacements);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            player.sendMessage(message.renderFor(player));
+        }
+        Bukkit.getConsoleSender().sendMessage(message.renderFor(null));
+    }
+
+    /**
+     * Prepare a message key for per-recipient placeholder rendering.
+     *
+     * @param prefix       Whether to include the prefix or not
+     * @param messageKey   The message key
+     * @param replacements The replacements to be made in the message
+     * @return The prepared message
+     */
+    private SplicedMessage _spliceMessage(boolean prefix, String messageKey, @Nullable Replacements replacements) {
+        String text = _getTemplate(messageKey).fill(replacements);
+        return new SplicedMessage(
+                text,
+                filled -> _withPrefix(prefix, MessageTemplate.renderText(miniMessage, filled)),
+                value -> MessageTemplate.renderText(miniMessage, value)
+        );
     }
 
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -538,7 +1107,7 @@ public class Message {
      * @param message The message string
      */
     public void sendBroadcastRaw(boolean prefix, Component message) {
-        Bukkit.broadcast(_cleanupMessage(_getPrefix(prefix), message));
+        Bukkit.broadcast(_withPrefix(prefix, _cleanupMessage(message)));
     }
 
     /**
@@ -620,7 +1189,7 @@ public class Message {
      * @return The formatted message string
      */
     public Component getMessage(String messageKey) {
-        return _cleanupMessage(_getMessageFromGlobalConfig(messageKey));
+        return _render(false, messageKey, null, null);
     }
 
     /**
@@ -631,7 +1200,7 @@ public class Message {
      * @return The formatted message string
      */
     public Component getMessage(String messageKey, Replacements replacements) {
-        return _cleanupMessage(_replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), replacements));
+        return _render(false, messageKey, replacements, null);
     }
 
     /**
@@ -642,7 +1211,7 @@ public class Message {
      * @return The formatted message string
      */
     public Component getMessage(String messageKey, @Nullable Player player) {
-        return _cleanupMessage(_replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), player));
+        return _render(false, messageKey, null, player);
     }
 
     /**
@@ -654,10 +1223,58 @@ public class Message {
      * @return The formatted message string
      */
     public Component getMessage(String messageKey, Replacements replacements, @Nullable Player player) {
-        return _cleanupMessage(_replaceMessageStrings(_getMessageFromGlobalConfig(messageKey), replacements, player));
+        return _render(false, messageKey, replacements, player);
     }
 
 
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Get YamlConfig Message (Async)
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Render a message from the messages configuration without the prefix, off the calling thread.
+     *
+     * @param messageKey The message key
+     * @return A future completed with the formatted message
+     */
+    public CompletableFuture<Component> getMessageAsync(String messageKey) {
+        return _renderMessageAsync(false, messageKey, null, null);
+    }
+
+    /**
+     * Render a message from the messages configuration with replacements, off the calling thread.
+     *
+     * @param messageKey   The message key
+     * @param replacements The replacements to be made in the message
+     * @return A future completed with the formatted message
+     */
+    public CompletableFuture<Component> getMessageAsync(String messageKey, Replacements replacements) {
+        return _renderMessageAsync(false, messageKey, replacements, null);
+    }
+
+    /**
+     * Render a message from the messages configuration with placeholders, off the calling thread.
+     *
+     * @param messageKey The message key
+     * @param player     The player to apply placeholders for
+     * @return A future completed with the formatted message
+     */
+    public CompletableFuture<Component> getMessageAsync(String messageKey, @Nullable Player player) {
+        return _renderMessageAsync(false, messageKey, null, player);
+    }
+
+    /**
+     * Render a message from the messages configuration with replacements, off the calling thread.
+     *
+     * @param messageKey   The message key
+     * @param replacements The replacements to be made in the message
+     * @param player       The player to apply placeholders for
+     * @return A future completed with the formatted message
+     */
+    public CompletableFuture<Component> getMessageAsync(String messageKey, Replacements replacements, @Nullable Player player) {
+        return _renderMessageAsync(false, messageKey, replacements, player);
+    }
+
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Get YamlConfig Message (RAW)
     //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -679,7 +1296,7 @@ public class Message {
      * @return The message string
      */
     public Component getMessageRaw(String message) {
-        return _cleanupMessage(miniMessage.deserialize(message));
+        return MessageTemplate.renderText(miniMessage, message);
     }
 
     /**
@@ -701,7 +1318,7 @@ public class Message {
      * @return The message string
      */
     public Component getMessageRaw(String message, Replacements replacements) {
-        return _cleanupMessage(_replaceMessageStrings(miniMessage.deserialize(message), replacements));
+        return MessageTemplate.renderText(miniMessage, Placeholder.parsePlaceholders(null, replacements.apply(message)));
     }
 
     /**
@@ -723,7 +1340,7 @@ public class Message {
      * @return The message string
      */
     public Component getMessageRaw(String message, @Nullable Player player) {
-        return _cleanupMessage(_replaceMessageStrings(miniMessage.deserialize(message), player));
+        return MessageTemplate.renderText(miniMessage, Placeholder.parsePlaceholders(player, message));
     }
 
     /**
@@ -747,6 +1364,6 @@ public class Message {
      * @return The message string
      */
     public Component getMessageRaw(String message, Replacements replacements, @Nullable Player player) {
-        return _cleanupMessage(_replaceMessageStrings(miniMessage.deserialize(message), replacements, player));
+        return MessageTemplate.renderText(miniMessage, Placeholder.parsePlaceholders(player, replacements.apply(message)));
     }
 }
@@ -0,0 +1,249 @@
+package com.lyttledev.lyttleutils.utils.communication;
+
+import com.lyttledev.lyttleutils.types.Message.ReplacementEntry;
+import com.lyttledev.lyttleutils.types.Message.Replacements;
+import com.lyttledev.lyttleutils.utils.convertion.Placeholder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A message from messages.yml/global.yml compiled once into a reusable template.
+ * The template keeps the MiniMessage source, the positions of PlaceholderAPI slots
+ * and (lazily) the positions of every replacement key it has been filled with,
+ * so a send only has to fill those slots and parse the result once.
+ * <p>
+ * The cleanup that used to run on every send (literal \n to newlines, stripping backslashes
+ * and the legacy &amp; color code pass) is applied to the source once at compile time.
+ * Filled text only goes through the stages its inserted values actually need.
+ */
+final class MessageTemplate {
+    private static final int[] NO_SLOTS = new int[0];
+    private static final String LEGACY_CODES = "0123456789abcdefklmnorxABCDEFKLMNORX";
+
+    private final MiniMessage miniMessage;
+    private final String source;
+    private final boolean legacy;
+    // Start/end pairs of every %placeholder% token in the source
+    private final int[] placeholderSlots;
+    // Offsets of each replacement key in the source, recorded on first use
+    private final Map<String, int[]> replacementSlots = new ConcurrentHashMap<>();
+    private volatile Component rendered = null;
+
+    MessageTemplate(MiniMessage miniMessage, String source) {
+        this.miniMessage = miniMessage;
+        this.source = normalize(source);
+        this.legacy = hasLegacyCodes(this.source);
+        this.placeholderSlots = Placeholder.findPlaceholderSlots(this.source);
+    }
+
+    /**
+     * Get the MiniMessage source of this template.
+     *
+     * @return The source string
+     */
+    String getSource() {
+        return source;
+    }
+
+    /**
+     * Check if the source contains PlaceholderAPI slots.
+     *
+     * @return true if at least one %placeholder% token is present
+     */
+    boolean hasPlaceholders() {
+        return placeholderSlots.length > 0;
+    }
+
+    /**
+     * Get the start/end pairs of the PlaceholderAPI slots in the source.
+     *
+     * @return The slot offsets, two ints per slot
+     */
+    int[] getPlaceholderSlots() {
+        return placeholderSlots;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Render
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Render the template without replacements or placeholders.
+     * The result is parsed once and reused for every following call.
+     *
+     * @return The rendered component
+     */
+    Component render() {
+        Component component = rendered;
+        if (component == null) {
+            component = miniMessage.deserialize(source);
+            if (legacy) component = applyLegacyCodes(component);
+            rendered = component;
+        }
+        return component;
+    }
+
+    /**
+     * Render the template with replacements and PlaceholderAPI placeholders.
+     *
+     * @param replacements The replacements to fill in (may be null)
+     * @param player       The player to apply placeholders for
+     * @return The rendered component
+     */
+    Component render(@Nullable Replacements replacements, @Nullable Player player) {
+        String filled = fill(replacements, player);
+        return filled.equals(source) ? render() : renderText(miniMessage, filled);
+    }
+
+    /**
+     * Fill the replacement and placeholder slots and return the resulting MiniMessage string.
+     *
+     * @param replacements The replacements to fill in (may be null)
+     * @param player       The player to apply placeholders for
+     * @return The filled MiniMessage string
+     */
+    String fill(@Nullable Replacements replacements, @Nullable Player player) {
+        String filled = fill(replacements);
+
+        // Only hand the text to PlaceholderAPI when it can contain placeholders
+        // (fill returns the source itself when no replacement matched)
+        if (hasPlaceholders() || filled != source) {
+            filled = Placeholder.parsePlaceholders(player, filled);
+        }
+        return filled;
+    }
+
+    /**
+     * Fill only the replacement slots, in a single pass over the source.
+     *
+     * @param replacements The replacements to fill in (may be null)
+     * @return The filled string, or the source itself when nothing matched
+     */
+    String fill(@Nullable Replacements replacements) {
+        if (replacements == null || replacements.getAll().isEmpty()) return source;
+
+        List<ReplacementEntry> entries = replacements.getAll();
+        List<long[]> hits = new ArrayList<>();
+        int growth = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            ReplacementEntry entry = entries.get(i);
+            String key = entry.getKey();
+            if (key == null || key.isEmpty()) continue;
+            for (int offset : _getReplacementSlots(key)) {
+                hits.add(new long[]{offset, i});
+                growth += String.valueOf(entry.getValue()).length() - key.length();
+            }
+        }
+        if (hits.isEmpty()) return source;
+
+        // Leftmost slot first; on the same offset the longest key wins, like Replacements.apply
+        hits.sort((a, b) -> {
+            if (a[0] != b[0]) return Long.compare(a[0], b[0]);
+            int byLength = entries.get((int) b[1]).getKey().length() - entries.get((int) a[1]).getKey().length();
+            return byLength != 0 ? byLength : Long.compare(a[1], b[1]);
+        });
+
+        StringBuilder builder = new StringBuilder(source.length() + Math.max(growth, 0));
+        int cursor = 0;
+        for (long[] hit : hits) {
+            int offset = (int) hit[0];
+            if (offset < cursor) continue; // Overlaps a slot that was already filled
+            ReplacementEntry entry = entries.get((int) hit[1]);
+            builder.append(source, cursor, offset).append(entry.getValue());
+            cursor = offset + entry.getKey().length();
+        }
+        builder.append(source, cursor, source.length());
+        return builder.toString();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Cleanup
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Render arbitrary MiniMessage text, applying only the cleanup stages the text needs.
+     *
+     * @param miniMessage The MiniMessage instance to parse with
+     * @param text        The MiniMessage text
+     * @return The rendered component
+     */
+    static Component renderText(MiniMessage miniMessage, String text) {
+        String normalized = normalize(text);
+        Component component = miniMessage.deserialize(normalized);
+        return hasLegacyCodes(normalized) ? applyLegacyCodes(component) : component;
+    }
+
+    /**
+     * Replace literal \n with real newlines and remove all other backslashes.
+     *
+     * @param text The text to normalize
+     * @return The normalized text, or the same instance when it has no backslashes
+     */
+    static String normalize(String text) {
+        if (text.indexOf('\\') < 0) return text;
+        return text.replace("\\n", "\n").replace("\\", "");
+    }
+
+    /**
+     * Check if the text contains legacy ampersand color or format codes.
+     *
+     * @param text The text to scan
+     * @return true if a code like &amp;c or &amp;l is present
+     */
+    static boolean hasLegacyCodes(String text) {
+        int index = text.indexOf('&');
+        while (index >= 0 && index + 1 < text.length()) {
+            if (LEGACY_CODES.indexOf(text.charAt(index + 1)) >= 0) return true;
+            index = text.indexOf('&', index + 1);
+        }
+        return false;
+    }
+
+    /**
+     * Apply legacy ampersand codes found anywhere in the text of a component.
+     *
+     * @param component The component
+     * @return The component with the codes turned into styling
+     */
+    static Component applyLegacyCodes(Component component) {
+        // Support legacy color codes by serializing to legacy, then parsing back
+        String legacySerialized = LegacyComponentSerializer.legacyAmpersand().serialize(component);
+        return LegacyComponentSerializer.legacyAmpersand().deserialize(legacySerialized);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Slots
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private int[] _getReplacementSlots(String key) {
+        int[] slots = replacementSlots.get(key);
+        if (slots == null) {
+            slots = _findOccurrences(source, key);
+            replacementSlots.put(key, slots);
+        }
+        return slots;
+    }
+
+    private static int[] _findOccurrences(String text, String key) {
+        int index = text.indexOf(key);
+        if (index < 0) return NO_SLOTS;
+
+        int[] offsets = new int[4];
+        int count = 0;
+        while (index >= 0) {
+            if (count == offsets.length) offsets = Arrays.copyOf(offsets, count * 2);
+            offsets[count++] = index;
+            index = text.indexOf(key, index + key.length());
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+}
@@ -0,0 +1,187 @@
+package com.lyttledev.lyttleutils.utils.communication;
+
+import com.lyttledev.lyttleutils.types.Message.ReplacementEntry;
+import com.lyttledev.lyttleutils.types.Message.Replacements;
+import net.kyori.adventure.text.Component;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded cache of fully rendered messages, keyed by message key, prefix flag and replacements.
+ * <p>
+ * Entries live in fixed arrays grouped in sets of {@link #WAYS}; a key can only live in its own set and
+ * the least recently used entry of a full set is evicted. Lookups compare the stored key and replacement
+ * pairs in place, so a cache hit does not allocate.
+ */
+final class RenderCache {
+    private static final int WAYS = 4;
+    private static final String[] NO_PAIRS = new String[0];
+
+    private final int setMask;
+    private final int[] hashes;
+    private final String[] messageKeys;
+    private final boolean[] prefixes;
+    // Replacement keys and values, interleaved
+    private final String[][] pairs;
+    private final Component[] components;
+    private final long[] lastUsed;
+    private long clock = 0;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a cache holding at most roughly maxSize rendered messages.
+     *
+     * @param maxSize The maximum number of entries (rounded up to a power of two)
+     */
+    RenderCache(int maxSize) {
+        int sets = Integer.highestOneBit(Math.max(1, (maxSize + WAYS - 1) / WAYS) * 2 - 1);
+        int size = sets * WAYS;
+        this.setMask = sets - 1;
+        this.hashes = new int[size];
+        this.messageKeys = new String[size];
+        this.prefixes = new boolean[size];
+        this.pairs = new String[size][];
+        this.components = new Component[size];
+        this.lastUsed = new long[size];
+    }
+
+    /**
+     * Look up a rendered message.
+     *
+     * @param messageKey   The message key
+     * @param prefix       Whether the prefix is included
+     * @param replacements The replacements used (may be null)
+     * @return The cached component, or null on a miss
+     */
+    synchronized @Nullable Component get(String messageKey, boolean prefix, @Nullable Replacements replacements) {
+        int hash = _hash(messageKey, prefix, replacements);
+        int start = (hash & setMask) * WAYS;
+        for (int i = start; i < start + WAYS; i++) {
+            if (components[i] != null && hashes[i] == hash && prefixes[i] == prefix
+                    && messageKeys[i].equals(messageKey) && _matches(pairs[i], replacements)) {
+                lastUsed[i] = ++clock;
+                hits.increment();
+                return components[i];
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Store a rendered message, evicting the least recently used entry of its set when full.
+     *
+     * @param messageKey   The message key
+     * @param prefix       Whether the prefix is included
+     * @param replacements The replacements used (may be null)
+     * @param component    The rendered component
+     */
+    synchronized void put(String messageKey, boolean prefix, @Nullable Replacements replacements, Component component) {
+        int hash = _hash(messageKey, prefix, replacements);
+        int start = (hash & setMask) * WAYS;
+        int slot = start;
+        for (int i = start; i < start + WAYS; i++) {
+            if (components[i] == null) {
+                slot = i;
+                break;
+            }
+            if (lastUsed[i] < lastUsed[slot]) slot = i;
+        }
+
+        hashes[slot] = hash;
+        messageKeys[slot] = messageKey;
+        prefixes[slot] = prefix;
+        pairs[slot] = _toPairs(replacements);
+        components[slot] = component;
+        lastUsed[slot] = ++clock;
+    }
+
+    /**
+     * Remove all entries. The hit and miss counters are kept.
+     */
+    synchronized void clear() {
+        for (int i = 0; i < components.length; i++) {
+            messageKeys[i] = null;
+            pairs[i] = null;
+            components[i] = null;
+        }
+    }
+
+    /**
+     * Remove the entries of the matching message keys. The hit and miss counters are kept.
+     *
+     * @param messageKeys Selects the message keys to remove
+     */
+    synchronized void removeKeys(Predicate<String> messageKeys) {
+        for (int i = 0; i < components.length; i++) {
+            if (components[i] != null && messageKeys.test(this.messageKeys[i])) {
+                this.messageKeys[i] = null;
+                pairs[i] = null;
+                components[i] = null;
+            }
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Keys
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static int _hash(String messageKey, boolean prefix, @Nullable Replacements replacements) {
+        int hash = messageKey.hashCode() * 31 + (prefix ? 1 : 0);
+        if (replacements != null) {
+            List<ReplacementEntry> entries = replacements.getAll();
+            for (int i = 0; i < entries.size(); i++) {
+                ReplacementEntry entry = entries.get(i);
+                hash = hash * 31 + _hashOf(entry.getKey());
+                hash = hash * 31 + _hashOf(entry.getValue());
+            }
+        }
+        // Spread the high bits into the set index
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int _hashOf(@Nullable String value) {
+        return value == null ? 0 : value.hashCode();
+    }
+
+    private static boolean _matches(String[] stored, @Nullable Replacements replacements) {
+        if (replacements == null) return stored.length == 0;
+
+        List<ReplacementEntry> entries = replacements.getAll();
+        if (stored.length != entries.size() * 2) return false;
+        for (int i = 0; i < entries.size(); i++) {
+            ReplacementEntry entry = entries.get(i);
+            if (!_equals(stored[i * 2], entry.getKey()) || !_equals(stored[i * 2 + 1], entry.getValue())) return false;
+        }
+        return true;
+    }
+
+    private static boolean _equals(@Nullable String a, @Nullable String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static String[] _toPairs(@Nullable Replacements replacements) {
+        if (replacements == null || replacements.getAll().isEmpty()) return NO_PAIRS;
+
+        List<ReplacementEntry> entries = replacements.getAll();
+        String[] stored = new String[entries.size() * 2];
+        for (int i = 0; i < entries.size(); i++) {
+            stored[i * 2] = entries.get(i).getKey();
+            stored[i * 2 + 1] = entries.get(i).getValue();
+        }
+        return stored;
+    }
+}
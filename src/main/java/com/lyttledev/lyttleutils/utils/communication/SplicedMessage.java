@@ -0,0 +1,156 @@
+package com.lyttledev.lyttleutils.utils.communication;
+
+import com.lyttledev.lyttleutils.utils.convertion.Placeholder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * A message whose player-independent part is rendered once, with only the
+ * PlaceholderAPI slots resolved per recipient.
+ * <p>
+ * Every %placeholder% in the text is swapped for a private-use marker before parsing,
+ * so the whole message goes through MiniMessage once. For each recipient only the
+ * placeholder values are resolved (in a single PlaceholderAPI call) and spliced into
+ * the parsed component. Recipients with identical placeholder values share one result.
+ * When a placeholder sits inside a tag (e.g. a hover text) splicing is not possible and
+ * the text is rendered per distinct set of values instead.
+ */
+final class SplicedMessage {
+    private static final char MARKER_START = '\uE000';
+    private static final char MARKER_END = '\uE001';
+    private static final String SEPARATOR = "\uE002";
+    private static final Pattern MARKER = Pattern.compile(MARKER_START + "(\\d+)" + MARKER_END);
+
+    private final String text;
+    private final int[] slots;
+    private final String joinedTokens;
+    private final Function<String, Component> renderer;
+    private final Function<String, Component> valueRenderer;
+    private final @Nullable Component base;
+    private final Map<List<String>, Component> rendered = new HashMap<>();
+    private final Map<String, Component> renderedValues = new HashMap<>();
+
+    /**
+     * Prepare a message for per-recipient rendering.
+     *
+     * @param text          The MiniMessage text with replacements already applied
+     * @param renderer      Renders a full MiniMessage text to the final component (prefix and cleanup included)
+     * @param valueRenderer Renders a single placeholder value to a component
+     */
+    SplicedMessage(String text, Function<String, Component> renderer, Function<String, Component> valueRenderer) {
+        this.text = text;
+        this.slots = Placeholder.findPlaceholderSlots(text);
+        this.renderer = renderer;
+        this.valueRenderer = valueRenderer;
+
+        StringBuilder tokens = new StringBuilder();
+        for (int i = 0; i < slots.length; i += 2) {
+            if (i > 0) tokens.append(SEPARATOR);
+            tokens.append(text, slots[i], slots[i + 1]);
+        }
+        this.joinedTokens = tokens.toString();
+
+        if (slots.length == 0) {
+            this.base = renderer.apply(text);
+        } else if (_canSplice()) {
+            this.base = renderer.apply(_fill(null));
+        } else {
+            this.base = null;
+        }
+    }
+
+    /**
+     * Render the message for one recipient.
+     *
+     * @param player The recipient to resolve placeholders for (null for the console)
+     * @return The rendered component
+     */
+    Component renderFor(@Nullable Player player) {
+        if (slots.length == 0) return base;
+
+        String[] values = _resolveValues(player);
+        List<String> key = Arrays.asList(values);
+        Component component = rendered.get(key);
+        if (component == null) {
+            component = base != null ? _splice(values) : renderer.apply(_fill(values));
+            rendered.put(key, component);
+        }
+        return component;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Splicing
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private String[] _resolveValues(@Nullable Player player) {
+        String resolved = Placeholder.parsePlaceholders(player, joinedTokens);
+        String[] values = resolved.split(SEPARATOR, -1);
+        if (values.length != slots.length / 2) {
+            // An expansion swallowed a separator; fall back to resolving each token on its own
+            values = new String[slots.length / 2];
+            for (int i = 0; i < slots.length; i += 2) {
+                values[i / 2] = Placeholder.parsePlaceholders(player, text.substring(slots[i], slots[i + 1]));
+            }
+        }
+        return values;
+    }
+
+    private Component _splice(String[] values) {
+        return base.replaceText(TextReplacementConfig.builder()
+                .match(MARKER)
+                .replacement((match, builder) -> {
+                    String value = values[Integer.parseInt(match.group(1))];
+                    Component component = renderedValues.get(value);
+                    if (component == null) {
+                        component = valueRenderer.apply(value);
+                        renderedValues.put(value, component);
+                    }
+                    return component;
+                })
+                .build());
+    }
+
+    /**
+     * Build the text with every slot replaced by its value, or by a marker when values is null.
+     */
+    private String _fill(@Nullable String[] values) {
+        StringBuilder builder = new StringBuilder(text.length() + 16);
+        int cursor = 0;
+        for (int i = 0; i < slots.length; i += 2) {
+            builder.append(text, cursor, slots[i]);
+            if (values == null) {
+                builder.append(MARKER_START).append(i / 2).append(MARKER_END);
+            } else {
+                builder.append(values[i / 2]);
+            }
+            cursor = slots[i + 1];
+        }
+        builder.append(text, cursor, text.length());
+        return builder.toString();
+    }
+
+    /**
+     * Splicing only works for placeholders in plain text, not inside tag arguments. A slot that spans
+     * tags or contains spaces (a spaced argument, or prose like "% of 50%" in "100% of 50%") is rendered
+     * in full too, so text that PlaceholderAPI leaves unchanged keeps the formatting around it.
+     */
+    private boolean _canSplice() {
+        for (int i = 0; i < slots.length; i += 2) {
+            if (text.lastIndexOf('<', slots[i]) > text.lastIndexOf('>', slots[i])) return false;
+            for (int j = slots[i] + 1; j < slots[i + 1] - 1; j++) {
+                char c = text.charAt(j);
+                if (c == '<' || c == '>' || Character.isWhitespace(c)) return false;
+            }
+        }
+        return true;
+    }
+}
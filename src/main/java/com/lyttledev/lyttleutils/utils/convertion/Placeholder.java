@@ -2,10 +2,179 @@ package com.lyttledev.lyttleutils.utils.convertion;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Placeholder {
+    private static final String PLACEHOLDER_API = "PlaceholderAPI";
+    private static final int[] NO_SLOTS = new int[0];
+
+    // Whether availability is tracked through plugin events; until then every call asks the plugin manager
+    private static final AtomicBoolean tracking = new AtomicBoolean(false);
+    private static volatile boolean nativeLoaded = false;
+
+    // Opt-in cache of resolved values, null when disabled
+    private static volatile PlaceholderCache cache = null;
+    private static final Map<String, Long> cacheTtls = new ConcurrentHashMap<>();
+    private static final AtomicBoolean cacheListening = new AtomicBoolean(false);
+
     private static boolean isNativeLoaded() {
-        return Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null;
+        if (!tracking.get()) {
+            return Bukkit.getPluginManager().getPlugin(PLACEHOLDER_API) != null;
+        }
+        return nativeLoaded;
+    }
+
+    /**
+     * Start caching whether PlaceholderAPI is available, refreshed on plugin enable/disable.
+     * Called by LyttleUtils on enable; calling it again is a no-op.
+     *
+     * @param plugin the plugin to register the listener for
+     */
+    public static void register(Plugin plugin) {
+        if (!tracking.compareAndSet(false, true)) return;
+        nativeLoaded = Bukkit.getPluginManager().isPluginEnabled(PLACEHOLDER_API);
+        Bukkit.getPluginManager().registerEvents(new AvailabilityListener(), plugin);
+    }
+
+    /**
+     * Stop using the cached availability and the value cache, e.g. when the registering plugin is disabled.
+     */
+    public static void unregister() {
+        tracking.set(false);
+        cache = null;
+        cacheListening.set(false);
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Cache
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Enable caching of resolved placeholder values per player, for expensive expansions such as balances or ranks.
+     * Cached values of a player are dropped when they quit. Enabling again starts with an empty cache.
+     *
+     * @param plugin           the plugin to register the quit listener for
+     * @param defaultTtlMillis how long a value is reused for placeholders without their own time to live
+     */
+    public static void enableCache(Plugin plugin, long defaultTtlMillis) {
+        cache = new PlaceholderCache(defaultTtlMillis, cacheTtls);
+        if (cacheListening.compareAndSet(false, true)) {
+            Bukkit.getPluginManager().registerEvents(new CacheListener(), plugin);
+        }
+    }
+
+    /**
+     * Disable the placeholder cache and drop all cached values.
+     */
+    public static void disableCache() {
+        cache = null;
+    }
+
+    /**
+     * Set how long values of a placeholder are cached.
+     * Matches either the exact identifier (e.g. "vault_eco_balance") or a whole expansion (e.g. "vault").
+     *
+     * @param identifier the placeholder identifier or expansion, without the % signs
+     * @param ttlMillis  the time to live in milliseconds, zero or less to never cache it
+     */
+    public static void setCacheTtl(String identifier, long ttlMillis) {
+        cacheTtls.put(identifier, ttlMillis);
+    }
+
+    /**
+     * Remove a time to live set with {@link #setCacheTtl(String, long)}, falling back to the expansion or default.
+     *
+     * @param identifier the placeholder identifier or expansion, without the % signs
+     */
+    public static void removeCacheTtl(String identifier) {
+        cacheTtls.remove(identifier);
+    }
+
+    /**
+     * Drop all cached values of a player.
+     *
+     * @param uuid the UUID of the player
+     */
+    public static void invalidateCache(UUID uuid) {
+        PlaceholderCache current = cache;
+        if (current != null) current.evict(uuid);
+    }
+
+    public static long getCacheHits() {
+        PlaceholderCache current = cache;
+        return current == null ? 0 : current.getHits();
+    }
+
+    public static long getCacheMisses() {
+        PlaceholderCache current = cache;
+        return current == null ? 0 : current.getMisses();
+    }
+
+    /**
+     * Get the share of cacheable placeholder lookups served from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 when nothing was looked up yet
+     */
+    public static double getCacheHitRate() {
+        long hits = getCacheHits();
+        long total = hits + getCacheMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Parse
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Cheap pre-scan for a %placeholder% token, so text without one never reaches PlaceholderAPI.
+     *
+     * @param text the text to scan
+     * @return true if the text contains a token as found by {@link #findPlaceholderSlots(String)}
+     */
+    public static boolean containsPlaceholders(String text) {
+        return findPlaceholderSlots(text).length > 0;
+    }
+
+    /**
+     * Find the start/end pairs of every %placeholder% token in a text.
+     * A token is two '%' around any non-empty text, the same pattern PlaceholderAPI itself matches,
+     * so placeholders with spaced arguments (e.g. "%server_time_dd MMM yyyy%") are found too.
+     *
+     * @param text the text to scan
+     * @return the slot offsets, two ints per slot (start inclusive, end exclusive)
+     */
+    public static int[] findPlaceholderSlots(String text) {
+        int start = text.indexOf('%');
+        if (start < 0) return NO_SLOTS;
+
+        int[] slots = new int[4];
+        int count = 0;
+        while (start >= 0) {
+            int end = text.indexOf('%', start + 1);
+            if (end < 0) break;
+
+            if (end > start + 1) {
+                if (count + 2 > slots.length) slots = Arrays.copyOf(slots, slots.length * 2);
+                slots[count++] = start;
+                slots[count++] = end + 1;
+                start = text.indexOf('%', end + 1);
+            } else {
+                start = end;
+            }
+        }
+        return count == 0 ? NO_SLOTS : Arrays.copyOf(slots, count);
     }
 
     /**
@@ -18,11 +187,19 @@ public class Placeholder {
      * @return resolved text, or original on failure
      */
     public static String parsePlaceholders(Player player, String text) {
+        if (text == null || !containsPlaceholders(text)) return text;
+
         String result = text;
 
         // Native resolution if available
         if (isNativeLoaded()) {
-            result = me.clip.placeholderapi.PlaceholderAPI.setPlaceholders(player, result);
+            PlaceholderCache current = cache;
+            if (current != null) {
+                // Resolve token by token so each value can be cached on its own
+                result = current.resolve(player, result, token -> me.clip.placeholderapi.PlaceholderAPI.setPlaceholders(player, token));
+            } else {
+                result = me.clip.placeholderapi.PlaceholderAPI.setPlaceholders(player, result);
+            }
         }
 
         return result;
@@ -40,4 +217,29 @@ public class Placeholder {
     public static String parsePlaceholder(String text) {
         return parsePlaceholders(null, text);
     }
+
+    /**
+     * Keeps the cached PlaceholderAPI availability in sync with the plugin manager.
+     */
+    private static final class AvailabilityListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginEnable(PluginEnableEvent event) {
+            if (event.getPlugin().getName().equals(PLACEHOLDER_API)) nativeLoaded = true;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginDisable(PluginDisableEvent event) {
+            if (event.getPlugin().getName().equals(PLACEHOLDER_API)) nativeLoaded = false;
+        }
+    }
+
+    /**
+     * Drops cached placeholder values of players that leave.
+     */
+    private static final class CacheListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerQuit(PlayerQuitEvent event) {
+            invalidateCache(event.getPlayer().getUniqueId());
+        }
+    }
 }
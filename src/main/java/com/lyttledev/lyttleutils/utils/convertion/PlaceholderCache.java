@@ -0,0 +1,114 @@
+package com.lyttledev.lyttleutils.utils.convertion;
+
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolved PlaceholderAPI values per (player, placeholder identifier), each kept for a configurable time.
+ * <p>
+ * The time to live of a placeholder is looked up by its exact identifier (e.g. "vault_eco_balance"),
+ * then by its expansion (the part before the first underscore, e.g. "vault"), then the default.
+ * A time to live of zero or less disables caching for that placeholder.
+ */
+final class PlaceholderCache {
+    // Values resolved without a player (e.g. for the console)
+    private static final UUID NO_PLAYER = new UUID(0L, 0L);
+
+    private final long defaultTtlNanos;
+    private final Map<String, Long> ttls;
+    private final Map<UUID, Map<String, CachedValue>> values = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private record CachedValue(String value, long expiresAt) {}
+
+    /**
+     * @param defaultTtlMillis The time to live for placeholders without their own setting
+     * @param ttls             Time to live in milliseconds per identifier or expansion (read live)
+     */
+    PlaceholderCache(long defaultTtlMillis, Map<String, Long> ttls) {
+        this.defaultTtlNanos = TimeUnit.MILLISECONDS.toNanos(defaultTtlMillis);
+        this.ttls = ttls;
+    }
+
+    /**
+     * Resolve every %placeholder% token in the text, using cached values where they are still fresh.
+     *
+     * @param player   The player to resolve for (may be null)
+     * @param text     The text with placeholders
+     * @param resolver Resolves a single %placeholder% token for the player
+     * @return The text with all tokens resolved
+     */
+    String resolve(@Nullable Player player, String text, UnaryOperator<String> resolver) {
+        int[] slots = Placeholder.findPlaceholderSlots(text);
+        if (slots.length == 0) return text;
+
+        Map<String, CachedValue> playerValues = values.computeIfAbsent(player == null ? NO_PLAYER : player.getUniqueId(), uuid -> new ConcurrentHashMap<>());
+        StringBuilder builder = new StringBuilder(text.length() + 16);
+        int cursor = 0;
+        for (int i = 0; i < slots.length; i += 2) {
+            int start = slots[i];
+            int end = slots[i + 1];
+            String identifier = text.substring(start + 1, end - 1);
+            builder.append(text, cursor, start).append(_resolveToken(playerValues, identifier, text.substring(start, end), resolver));
+            cursor = end;
+        }
+        builder.append(text, cursor, text.length());
+        return builder.toString();
+    }
+
+    /**
+     * Drop all cached values of a player.
+     *
+     * @param uuid The UUID of the player
+     */
+    void evict(UUID uuid) {
+        values.remove(uuid);
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Lookup
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private String _resolveToken(Map<String, CachedValue> playerValues, String identifier, String token, UnaryOperator<String> resolver) {
+        long ttl = _getTtlNanos(identifier);
+        if (ttl <= 0) return resolver.apply(token);
+
+        long now = System.nanoTime();
+        CachedValue cached = playerValues.get(identifier);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            hits.increment();
+            return cached.value();
+        }
+
+        misses.increment();
+        String value = resolver.apply(token);
+        playerValues.put(identifier, new CachedValue(value, now + ttl));
+        return value;
+    }
+
+    private long _getTtlNanos(String identifier) {
+        Long ttl = ttls.get(identifier);
+        if (ttl == null) {
+            int underscore = identifier.indexOf('_');
+            if (underscore > 0) ttl = ttls.get(identifier.substring(0, underscore));
+        }
+        return ttl == null ? defaultTtlNanos : TimeUnit.MILLISECONDS.toNanos(ttl);
+    }
+}
@@ -0,0 +1,172 @@
+package com.lyttledev.lyttleutils.utils.storage;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Crash-safe file writes: content goes to a temp file in the same directory, is forced to disk
+ * and then moved over the target in one atomic step. A crash or full disk mid-write leaves
+ * either the old or the new file, never a truncated one.
+ * <p>
+ * The new file keeps the POSIX permissions of the file it replaces; a new target gets the
+ * default permissions (umask) like any other created file.
+ * <p>
+ * Optionally the previous generation is kept next to the target as "&lt;name&gt;.bak",
+ * which {@link #readBackup(Path)} can fall back to when the target is missing or unreadable.
+ */
+public final class AtomicFile {
+    private static final String BACKUP_SUFFIX = ".bak";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private AtomicFile() {}
+
+    /**
+     * Atomically replace the target with the given text (UTF-8).
+     *
+     * @param target     The file to write
+     * @param content    The new content
+     * @param keepBackup Whether to keep the previous content as a backup
+     * @throws IOException If the content could not be written
+     */
+    public static void write(Path target, String content, boolean keepBackup) throws IOException {
+        write(target, content.getBytes(StandardCharsets.UTF_8), keepBackup);
+    }
+
+    /**
+     * Atomically replace the target with the given bytes.
+     *
+     * @param target     The file to write
+     * @param content    The new content
+     * @param keepBackup Whether to keep the previous content as a backup
+     * @throws IOException If the content could not be written
+     */
+    public static void write(Path target, byte[] content, boolean keepBackup) throws IOException {
+        Path absolute = target.toAbsolutePath().normalize();
+        Path directory = absolute.getParent();
+        Files.createDirectories(directory);
+
+        Path temp = _createTemp(absolute);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+
+            if (keepBackup && Files.exists(absolute)) {
+                // A crash between these two moves leaves only the backup, which readBackup picks up
+                _move(absolute, backupOf(absolute));
+            }
+            _move(temp, absolute);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        _forceDirectory(directory);
+    }
+
+    /**
+     * Atomically move a fully written file over the target, for content too large to buffer for {@link #write}.
+     * The source must be in the same directory as the target and already forced to disk.
+     * It takes over the permissions of the target.
+     *
+     * @param source The written file
+     * @param target The file to replace
+     * @throws IOException If the file could not be moved
+     */
+    public static void replace(Path source, Path target) throws IOException {
+        Path absolute = target.toAbsolutePath().normalize();
+        _copyPermissions(absolute, source);
+        _move(source, absolute);
+        _forceDirectory(absolute.getParent());
+    }
+
+    /**
+     * Get the backup file belonging to a target.
+     *
+     * @param target The file that is written atomically
+     * @return The path of its backup
+     */
+    public static Path backupOf(Path target) {
+        return target.resolveSibling(target.getFileName() + BACKUP_SUFFIX);
+    }
+
+    /**
+     * Read the backup of a target, if there is one.
+     *
+     * @param target The file that is written atomically
+     * @return The backup content, or null if there is no readable backup
+     */
+    public static @Nullable String readBackup(Path target) {
+        Path backup = backupOf(target);
+        if (!Files.isRegularFile(backup)) return null;
+        try {
+            return Files.readString(backup, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Filesystem
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Create an empty temp file next to the target. Unlike Files.createTempFile (always 0600) it is
+     * created with the default permissions, or with those of the target when that exists.
+     */
+    private static Path _createTemp(Path target) throws IOException {
+        while (true) {
+            Path temp = target.resolveSibling("." + target.getFileName() + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + TEMP_SUFFIX);
+            try {
+                Files.newByteChannel(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            _copyPermissions(target, temp);
+            return temp;
+        }
+    }
+
+    private static void _copyPermissions(Path from, Path to) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(from, PosixFileAttributeView.class);
+        // Not a POSIX filesystem (e.g. Windows), or nothing to copy from yet
+        if (view == null || !Files.exists(from)) return;
+        try {
+            Files.setPosixFilePermissions(to, view.readAttributes().permissions());
+        } catch (NoSuchFileException ignored) {
+            // The target was removed in the meantime; keep the default permissions
+        }
+    }
+
+    private static void _move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Filesystems without atomic rename still get a replace, just not an atomic one
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void _forceDirectory(Path directory) {
+        // Persist the rename itself; not supported on every platform (e.g. Windows), so best effort
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException ignored) {
+        }
+    }
+}
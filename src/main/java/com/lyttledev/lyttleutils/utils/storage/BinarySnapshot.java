@@ -0,0 +1,263 @@
+package com.lyttledev.lyttleutils.utils.storage;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * Binary sidecar snapshot of a parsed config file, so a large config can be loaded without parsing its text.
+ * <p>
+ * The snapshot is written next to the source as "&lt;name&gt;.bin" and holds a tree of maps (with String keys),
+ * lists, strings, booleans, ints, longs, doubles and nulls in a compact type-tagged encoding. Its header
+ * records the size, modification time and CRC32C of the source content it was built from. A snapshot whose
+ * size or time differs is rejected without reading the source; otherwise the source is checksummed (which
+ * is far cheaper than parsing it) and the snapshot is only used if that matches too.
+ * <p>
+ * Snapshots are read through a memory mapping. On Windows a mapped file cannot be replaced until the mapping
+ * is collected, so a rebuild may fail there; the stale snapshot is then rejected and the text parsed again.
+ */
+public final class BinarySnapshot {
+    private static final String SUFFIX = ".bin";
+    private static final int MAGIC = 0x4C55534E; // "LUSN"
+    private static final int VERSION = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_TRUE = 2;
+    private static final byte TAG_FALSE = 3;
+    private static final byte TAG_INT = 4;
+    private static final byte TAG_LONG = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_LIST = 7;
+    private static final byte TAG_MAP = 8;
+
+    private BinarySnapshot() {}
+
+    /**
+     * The decoded tree of a snapshot, with the checksum of the source it matches.
+     *
+     * @param root     The decoded tree
+     * @param checksum The CRC32C of the source content
+     */
+    public record Contents(@Nullable Object root, long checksum) {}
+
+    /**
+     * Get the snapshot file belonging to a source.
+     *
+     * @param source The config file
+     * @return The path of its snapshot
+     */
+    public static Path snapshotOf(Path source) {
+        return source.resolveSibling(source.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Read the snapshot of a source, if it exists and still matches the source.
+     *
+     * @param source The config file
+     * @return The decoded tree, or null if there is no valid, up-to-date snapshot
+     */
+    public static @Nullable Contents read(Path source) {
+        Path snapshot = snapshotOf(source);
+        if (!Files.isRegularFile(snapshot)) return null;
+
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+
+            long size = buffer.getLong();
+            long modified = buffer.getLong();
+            long checksum = buffer.getLong();
+
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            if (attributes.size() != size || attributes.lastModifiedTime().toMillis() != modified) return null;
+            if (checksum(source) != checksum) return null;
+
+            Object root = _decode(buffer);
+            return buffer.hasRemaining() ? null : new Contents(root, checksum);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            // Missing, truncated or corrupt: parse the text instead
+            return null;
+        }
+    }
+
+    /**
+     * Write the snapshot of a source. The tree must be the parsed form of exactly the content with the
+     * given checksum; a snapshot that does not match the source is rejected when read.
+     * If the tree holds a value that cannot be encoded, no snapshot is kept for the source.
+     *
+     * @param source   The config file
+     * @param checksum The CRC32C of the source content the tree was parsed from (or written as)
+     * @param root     The parsed tree
+     * @return true if the snapshot was written
+     */
+    public static boolean write(Path source, long checksum, @Nullable Object root) {
+        Path snapshot = snapshotOf(source);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(attributes.size());
+            out.writeLong(attributes.lastModifiedTime().toMillis());
+            out.writeLong(checksum);
+            if (!_encode(out, root)) {
+                Files.deleteIfExists(snapshot);
+                return false;
+            }
+            out.flush();
+
+            AtomicFile.write(snapshot, bytes.toByteArray(), false);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compute the CRC32C of a file's content.
+     *
+     * @param file The file
+     * @return The checksum
+     * @throws IOException If the file could not be read
+     */
+    public static long checksum(Path file) throws IOException {
+        try (CheckedInputStream input = new CheckedInputStream(Files.newInputStream(file), new CRC32C())) {
+            byte[] chunk = new byte[8192];
+            while (input.read(chunk) >= 0) {
+                // Only the checksum is needed
+            }
+            return input.getChecksum().getValue();
+        }
+    }
+
+    /**
+     * Compute the CRC32C of content about to be written.
+     *
+     * @param content The content
+     * @return The checksum
+     */
+    public static long checksum(byte[] content) {
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Encoding
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static boolean _encode(DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(TAG_STRING);
+            _writeString(out, string);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(bool ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TAG_INT);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long number) {
+            out.writeByte(TAG_LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                if (!_encode(out, element)) return false;
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(TAG_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String key)) return false;
+                _writeString(out, key);
+                if (!_encode(out, entry.getValue())) return false;
+            }
+        } else {
+            // e.g. serialized Bukkit objects or dates; those configs are always parsed from text
+            return false;
+        }
+        return true;
+    }
+
+    private static void _writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static @Nullable Object _decode(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return _readString(buffer);
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_INT:
+                return buffer.getInt();
+            case TAG_LONG:
+                return buffer.getLong();
+            case TAG_DOUBLE:
+                return buffer.getDouble();
+            case TAG_LIST: {
+                int size = _readCount(buffer);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(_decode(buffer));
+                }
+                return list;
+            }
+            case TAG_MAP: {
+                int size = _readCount(buffer);
+                Map<String, Object> map = new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+                for (int i = 0; i < size; i++) {
+                    String key = _readString(buffer);
+                    map.put(key, _decode(buffer));
+                }
+                return map;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown snapshot tag " + tag);
+        }
+    }
+
+    private static String _readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[_readCount(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int _readCount(ByteBuffer buffer) {
+        // Every element takes at least one byte, so a larger count can only come from a corrupt file
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) throw new IllegalArgumentException("Corrupt snapshot count " + count);
+        return count;
+    }
+}
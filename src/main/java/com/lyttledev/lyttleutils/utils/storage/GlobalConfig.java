@@ -1,13 +1,30 @@
 package com.lyttledev.lyttleutils.utils.storage;
 
+import com.lyttledev.lyttleutils.LyttleUtils;
 import com.lyttledev.lyttleutils.types.YamlConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 
 /**
@@ -16,6 +33,12 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
  * to load, save, and migrate configuration entries. Additionally, it watches the file
  * for external changes and reloads its cache automatically.
  * <p>
+ * There is one shared state per server, owned by LyttleUtils: it is created on enable (see {@link #init(JavaPlugin)})
+ * and registered with Bukkit's ServicesManager. Every {@code new GlobalConfig(plugin)} is a cheap view
+ * on that state, so global.yml is parsed, held in memory and watched only once, and every view
+ * receives the same change notifications. A view created while LyttleUtils is not enabled yet creates
+ * the state for its own plugin; LyttleUtils takes it over on enable, so it never ends with that plugin.
+ * <p>
  * Usage in any plugin:
  * <pre>
  *     public class MyPlugin extends JavaPlugin {
@@ -32,6 +55,10 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 public class GlobalConfig {
     // Relative path FROM the plugin's data folder to the global.yml in plugins/LyttleDevelopment
     private static final String RELATIVE_CONFIG_PATH = "../LyttleDevelopment/global.yml";
+    // Name of the LyttleUtils plugin in its plugin.yml
+    private static final String LYTTLE_UTILS_NAME = "LyttleUtils";
+    // Quiet period after the last file event before global.yml is checked for changes
+    private static final long WATCH_DEBOUNCE_MILLIS = 250;
     // Default contents for a fresh global.yml
     private static final String DEFAULT_CONFIG_CONTENT =
             "# Global configuration for all LyttleDevelopment plugins\n" +
@@ -56,21 +83,114 @@ public class GlobalConfig {
                     "# ⚠\uFE0F Do not change this value.\n" +
                     "config_version: 0";
 
-    private final JavaPlugin plugin;
+    // The shared instance that owns the YamlConfig and the watcher
+    private static final Object SHARED_LOCK = new Object();
+    private static @Nullable GlobalConfig shared = null;
+
+    // The plugin of this view; for the shared instance the owning plugin, which changes when LyttleUtils takes over
+    private volatile JavaPlugin plugin;
     private final YamlConfig config;
+    private final GlobalConfig owner;
     private WatchService watchService;
+    private @Nullable DisableListener disableListener = null;
+    // Path subscriptions per registering plugin (owner only), dropped when that plugin is disabled
+    private final Map<String, List<Consumer<Set<String>>>> pluginListeners = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a view on the shared global.yml for the given plugin.
+     * The shared state is created on first use if LyttleUtils has not done so yet,
+     * owned by LyttleUtils when it is enabled and by the given plugin until then.
+     *
+     * @param plugin any JavaPlugin instance (typically the plugin that is calling this)
+     */
+    public GlobalConfig(JavaPlugin plugin) {
+        GlobalConfig owner = acquire(plugin);
+        this.plugin = plugin;
+        this.config = owner.config;
+        this.owner = owner;
+    }
+
+    /**
+     * Creates the shared global.yml state, owned by the given plugin. Called by LyttleUtils on enable.
+     * If the state already exists (created by a plugin enabled earlier), the given plugin takes it over.
+     *
+     * @param owner the plugin that owns the shared state
+     * @return the shared GlobalConfig
+     */
+    public static GlobalConfig init(JavaPlugin owner) {
+        synchronized (SHARED_LOCK) {
+            if (shared == null) {
+                shared = new GlobalConfig(owner, true);
+            } else if (shared.plugin != owner) {
+                shared.takeOver(owner);
+            }
+            return shared;
+        }
+    }
 
     /**
-     * Constructs (and if necessary, initializes) the global.yml under
+     * Stops the shared watcher and writes pending changes. Called by LyttleUtils on disable.
+     */
+    public static void shutdown() {
+        synchronized (SHARED_LOCK) {
+            if (shared == null) return;
+            try {
+                if (shared.watchService != null) shared.watchService.close();
+            } catch (IOException e) {
+                shared.plugin.getLogger().warning("Failed to close WatchService for global.yml: " + e.getMessage());
+            }
+            shared.config.flush();
+            shared = null;
+        }
+    }
+
+    private static GlobalConfig acquire(JavaPlugin plugin) {
+        synchronized (SHARED_LOCK) {
+            if (shared == null) {
+                shared = new GlobalConfig(owningPlugin(plugin), true);
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Gets the plugin that should own the shared state: LyttleUtils once it is enabled, the calling plugin before that.
+     */
+    private static JavaPlugin owningPlugin(JavaPlugin caller) {
+        // Looked up by name: when LyttleUtils is shaded into the caller, the installed plugin (if any)
+        // comes from another class loader and is not an instance of this LyttleUtils class
+        Plugin lyttleUtils = Bukkit.getPluginManager().getPlugin(LYTTLE_UTILS_NAME);
+        if (lyttleUtils instanceof LyttleUtils owner && owner.isEnabled()) return owner;
+        return caller;
+    }
+
+    /**
+     * Moves the disable listener of the shared state to a new owning plugin.
+     */
+    private void takeOver(JavaPlugin owner) {
+        if (disableListener != null) HandlerList.unregisterAll(disableListener);
+        this.plugin = owner;
+        registerDisableListener();
+    }
+
+    private void registerDisableListener() {
+        disableListener = new DisableListener();
+        Bukkit.getPluginManager().registerEvents(disableListener, plugin);
+    }
+
+    /**
+     * Constructs (and if necessary, initializes) the shared global.yml under
      * plugins/LyttleDevelopment/global.yml. If the directory or file does not exist,
      * it will be created and populated with default content. Afterwards, any migration
      * based on config_version will run automatically. Also starts a file watcher so that
      * if global.yml is modified externally, the cached YamlConfig is reloaded.
      *
-     * @param plugin any JavaPlugin instance (typically the plugin that is calling this)
+     * @param plugin  the plugin owning the shared state
+     * @param isOwner marks the owning constructor, as opposed to the public view constructor
      */
-    public GlobalConfig(JavaPlugin plugin) {
+    private GlobalConfig(JavaPlugin plugin, boolean isOwner) {
         this.plugin = plugin;
+        this.owner = this;
 
         // Step 1: Ensure the "plugins/LyttleDevelopment" directory exists
         File pluginsDir = plugin.getDataFolder().getParentFile(); // this points at "plugins/"
@@ -102,6 +222,9 @@ public class GlobalConfig {
 
         // Step 5: Start the file watcher on global.yml so that external changes reload the cache
         startWatcher(globalFolder.toPath(), "global.yml");
+
+        // Step 6: Drop change listeners of plugins that are disabled, they would otherwise leak
+        registerDisableListener();
     }
 
     /**
@@ -132,7 +255,9 @@ public class GlobalConfig {
 
     /**
      * Starts a WatchService watching the given folder for modifications to the specified file name.
-     * When an external modify event on that file occurs, the local YamlConfig cache is reloaded.
+     * Events are coalesced: after the first event the watcher waits until the file has been quiet for
+     * {@link #WATCH_DEBOUNCE_MILLIS}, then reloads only if the content actually changed. Saves made
+     * through this GlobalConfig are recognized by their content and do not cause a reload.
      *
      * @param folderPath the folder containing the file to watch
      * @param fileName   the exact file name to monitor (e.g. "global.yml")
@@ -140,35 +265,30 @@ public class GlobalConfig {
     private void startWatcher(Path folderPath, String fileName) {
         try {
             watchService = FileSystems.getDefault().newWatchService();
-            folderPath.register(watchService, ENTRY_MODIFY);
+            // Atomic saves replace the file through a rename, which shows up as a create
+            folderPath.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
 
             Thread watcherThread = new Thread(() -> {
-                while (!Thread.currentThread().isInterrupted()) {
-                    WatchKey key;
-                    try {
-                        key = watchService.take();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
+                try {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        WatchKey key = watchService.take();
+                        if (!drainEvents(key, fileName)) continue;
 
-                    for (WatchEvent<?> event : key.pollEvents()) {
-                        WatchEvent.Kind<?> kind = event.kind();
-                        if (kind == ENTRY_MODIFY) {
-                            WatchEvent<Path> ev = (WatchEvent<Path>) event;
-                            Path changed = ev.context();
-                            if (changed.getFileName().toString().equals(fileName)) {
-                                // Reload the underlying YamlConfig
-                                config.reload();
-                                plugin.getLogger().info("Detected external change in global.yml; reloaded cache.");
-                            }
+                        // A single save often produces several events; wait for them to settle
+                        WatchKey next;
+                        while ((next = watchService.poll(WATCH_DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                            drainEvents(next, fileName);
                         }
-                    }
 
-                    boolean valid = key.reset();
-                    if (!valid) {
-                        break;
+                        // Skip reloads when the content is what we already have (e.g. our own write)
+                        if (config.reloadIfChanged()) {
+                            plugin.getLogger().info("Detected external change in global.yml; reloaded cache.");
+                        }
                     }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ClosedWatchServiceException e) {
+                    // Watcher was closed; stop watching
                 }
             }, "GlobalConfig-Watcher");
 
@@ -179,6 +299,24 @@ public class GlobalConfig {
         }
     }
 
+    /**
+     * Consumes all events of a watch key and re-arms it.
+     *
+     * @return true if any event concerned the watched file
+     */
+    private static boolean drainEvents(WatchKey key, String fileName) {
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            WatchEvent.Kind<?> kind = event.kind();
+            if ((kind == ENTRY_CREATE || kind == ENTRY_MODIFY) && event.context() instanceof Path changed
+                    && changed.getFileName().toString().equals(fileName)) {
+                found = true;
+            }
+        }
+        key.reset();
+        return found;
+    }
+
     /**
      * Retrieves the value at the given path from global.yml as a String.
      * Returns null if the key does not exist.
@@ -206,6 +344,30 @@ public class GlobalConfig {
         }
     }
 
+    /**
+     * Subscribes to changes at or below a path prefix of global.yml (an empty prefix matches everything).
+     * On reloads triggered by the file watcher only the paths whose value actually changed are reported,
+     * and the listener runs on the watcher thread.
+     *
+     * @param prefix   the YAML path prefix to watch
+     * @param listener the listener receiving the changed paths
+     */
+    public void onChange(String prefix, Consumer<Set<String>> listener) {
+        config.onChange(prefix, listener);
+        owner.pluginListeners.computeIfAbsent(plugin.getName(), name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Unsubscribes a listener added with {@link #onChange(String, Consumer)}.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeOnChange(Consumer<Set<String>> listener) {
+        config.removeOnChange(listener);
+        List<Consumer<Set<String>>> listeners = owner.pluginListeners.get(plugin.getName());
+        if (listeners != null) listeners.remove(listener);
+    }
+
     /**
      * Checks whether a given path exists in the global config.
      *
@@ -215,4 +377,18 @@ public class GlobalConfig {
     public boolean contains(String path) {
         return config.contains(path);
     }
+
+    /**
+     * Unregisters the change listeners a plugin added once that plugin is disabled.
+     */
+    private final class DisableListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginDisable(PluginDisableEvent event) {
+            List<Consumer<Set<String>>> listeners = pluginListeners.remove(event.getPlugin().getName());
+            if (listeners == null) return;
+            for (Consumer<Set<String>> listener : listeners) {
+                config.removeOnChange(listener);
+            }
+        }
+    }
 }
@@ -0,0 +1,125 @@
+package com.lyttledev.lyttleutils.utils.storage;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Shared, bounded executor for config file I/O (the async load, save and reload methods of
+ * YamlConfig and JsonConfig) and other background work of LyttleUtils, like rendering messages
+ * off the main thread and the delayed write-behind flushes of YamlConfig, so that work stays off
+ * the main thread without every plugin or class starting its own threads.
+ * <p>
+ * The pool is owned by LyttleUtils: it is created on first use and shut down on disable, after
+ * letting queued writes finish. Tasks submitted after that run on the calling thread, so no pool
+ * outlives the plugin's class loader. Platform threads are used on purpose, as the configs guard
+ * their state with synchronized blocks that would pin virtual threads anyway.
+ */
+public final class IoExecutor {
+    private static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private static final Object LOCK = new Object();
+    private static @Nullable ScheduledThreadPoolExecutor executor = null;
+    private static boolean shutDown = false;
+
+    private IoExecutor() {}
+
+    /**
+     * Run an I/O task on the shared executor.
+     *
+     * @param task The task to run
+     * @return A future completing when the task is done, or exceptionally if it throws
+     */
+    public static CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, _executor());
+    }
+
+    /**
+     * Run an I/O task with a result on the shared executor.
+     *
+     * @param task The task to run
+     * @return A future with the task's result, or completed exceptionally if it throws
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, _executor());
+    }
+
+    /**
+     * Run a task on the shared executor after a delay.
+     *
+     * @param task        The task to run
+     * @param delayMillis The delay in milliseconds
+     * @return The scheduled task, or null once the executor has been shut down
+     */
+    public static @Nullable ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+        synchronized (LOCK) {
+            if (shutDown) return null;
+            if (executor == null) executor = _create();
+            return executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Get the shared executor, e.g. for the async stages of a CompletableFuture.
+     *
+     * @return An executor running tasks on the shared pool
+     */
+    public static Executor executor() {
+        return task -> _executor().execute(task);
+    }
+
+    /**
+     * Stop accepting tasks and wait a few seconds for queued ones (usually saves) to finish.
+     * Delayed tasks that have not started are dropped. Called by LyttleUtils on disable.
+     */
+    public static void shutdown() {
+        ScheduledThreadPoolExecutor current;
+        synchronized (LOCK) {
+            current = executor;
+            executor = null;
+            shutDown = true;
+        }
+        if (current == null) return;
+
+        current.shutdown();
+        try {
+            current.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Pool
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static Executor _executor() {
+        synchronized (LOCK) {
+            if (shutDown) return Runnable::run;
+            if (executor == null) executor = _create();
+            return executor;
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor _create() {
+        AtomicInteger count = new AtomicInteger();
+        ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "LyttleUtils-IO-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Idle threads go away between bursts of I/O
+        pool.setKeepAliveTime(30, TimeUnit.SECONDS);
+        pool.allowCoreThreadTimeOut(true);
+        // Pending write-behind flushes are written by YamlConfig.flushAll on disable instead
+        pool.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        pool.setRemoveOnCancelPolicy(true);
+        return pool;
+    }
+}
@@ -0,0 +1,112 @@
+package com.lyttledev.lyttleutils.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigSubscriptionsTest {
+    private static final Logger LOGGER = Logger.getLogger("ConfigSubscriptionsTest");
+    private static final Object SECTION = new Object();
+
+    @Test
+    void diffFindsAddedRemovedAndChangedPaths() {
+        Map<String, Object> before = new HashMap<>();
+        before.put("kept", 1);
+        before.put("changed", "old");
+        before.put("removed", true);
+        Map<String, Object> after = new HashMap<>();
+        after.put("kept", 1);
+        after.put("changed", "new");
+        after.put("added", 2.5);
+
+        assertEquals(Set.of("changed", "removed", "added"), ConfigSubscriptions.diff(before, after, value -> false));
+    }
+
+    @Test
+    void diffTreatsNullAsValue() {
+        Map<String, Object> before = new HashMap<>();
+        before.put("a", null);
+        Map<String, Object> after = new HashMap<>();
+        after.put("a", null);
+        after.put("b", null);
+
+        assertEquals(Set.of("b"), ConfigSubscriptions.diff(before, after, value -> false));
+    }
+
+    @Test
+    void diffSkipsBranches() {
+        Map<String, Object> before = Map.of("messages", SECTION, "messages.join", "Hi");
+        Map<String, Object> after = Map.of("messages.join", "Hello", "other", SECTION);
+
+        assertEquals(Set.of("messages.join"), ConfigSubscriptions.diff(before, after, value -> value == SECTION));
+        assertTrue(ConfigSubscriptions.diff(before, before, value -> value == SECTION).isEmpty());
+    }
+
+    @Test
+    void notifyMatchesPrefixChildrenAndParents() {
+        ConfigSubscriptions subscriptions = new ConfigSubscriptions();
+        List<Set<String>> all = _subscribe(subscriptions, "");
+        List<Set<String>> messages = _subscribe(subscriptions, "messages");
+        List<Set<String>> join = _subscribe(subscriptions, "messages.join");
+
+        subscriptions.notify(Set.of("messages.join.title", "messagesx", "settings"), LOGGER, "config");
+        subscriptions.notify(Set.of("messages"), LOGGER, "config");
+
+        assertEquals(List.of(Set.of("messages.join.title", "messagesx", "settings"), Set.of("messages")), all);
+        assertEquals(List.of(Set.of("messages.join.title"), Set.of("messages")), messages);
+        assertEquals(List.of(Set.of("messages.join.title"), Set.of("messages")), join);
+    }
+
+    @Test
+    void notifySkipsUnrelatedAndEmptyChanges() {
+        ConfigSubscriptions subscriptions = new ConfigSubscriptions();
+        List<Set<String>> received = _subscribe(subscriptions, "messages");
+
+        subscriptions.notify(Set.of("settings.language"), LOGGER, "config");
+        subscriptions.notify(Set.of(), LOGGER, "config");
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void failingListenerDoesNotStopOthers() {
+        ConfigSubscriptions subscriptions = new ConfigSubscriptions();
+        subscriptions.add("", changed -> {
+            throw new IllegalStateException("broken");
+        });
+        List<Set<String>> received = _subscribe(subscriptions, "");
+
+        subscriptions.notify(Set.of("a"), LOGGER, "config");
+
+        assertEquals(List.of(Set.of("a")), received);
+    }
+
+    @Test
+    void removeStopsNotifications() {
+        ConfigSubscriptions subscriptions = new ConfigSubscriptions();
+        List<Set<String>> received = new ArrayList<>();
+        Consumer<Set<String>> listener = received::add;
+        subscriptions.add("", listener);
+
+        subscriptions.remove(listener);
+        subscriptions.notify(Set.of("a"), LOGGER, "config");
+
+        assertTrue(received.isEmpty());
+        assertTrue(subscriptions.isEmpty());
+    }
+
+    private static List<Set<String>> _subscribe(ConfigSubscriptions subscriptions, String prefix) {
+        List<Set<String>> received = new ArrayList<>();
+        subscriptions.add(prefix, received::add);
+        return received;
+    }
+}
@@ -0,0 +1,87 @@
+package com.lyttledev.lyttleutils.types;
+
+import com.google.gson.JsonObject;
+import com.lyttledev.lyttleutils.utils.storage.AtomicFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonConfigTest {
+    private static final Logger LOGGER = Logger.getLogger("JsonConfigTest");
+
+    @TempDir
+    Path directory;
+
+    public static final class Data {
+        int coins;
+    }
+
+    @Test
+    void restoresBackupWhenOnlyBackupIsLeft() throws IOException {
+        Path file = directory.resolve("data.json");
+        JsonConfig<Data> config = new JsonConfig<>(file, LOGGER, Data.class);
+        config.setKeepBackup(true);
+        config.set("coins", 100);
+        config.set("coins", 200);
+        // A crash after the old file was moved to the backup, before the new one was moved in
+        Files.delete(file);
+        assertTrue(Files.exists(AtomicFile.backupOf(file)));
+
+        JsonConfig<Data> reopened = new JsonConfig<>(file, LOGGER, Data.class);
+        reopened.setKeepBackup(true);
+        reopened.set("name", "Steve");
+
+        assertEquals(100, reopened.getInt("coins", 0));
+        assertEquals("Steve", reopened.getString("name"));
+        JsonConfig<Data> fromDisk = new JsonConfig<>(file, LOGGER, Data.class);
+        assertEquals(100, fromDisk.getInt("coins", 0));
+        assertEquals("Steve", fromDisk.getString("name"));
+        // The backup now holds the restored generation, not an empty config
+        assertTrue(Files.readString(AtomicFile.backupOf(file)).contains("100"));
+    }
+
+    @Test
+    void restoresBackupForData() throws IOException {
+        Path file = directory.resolve("data.json");
+        JsonConfig<Data> config = new JsonConfig<>(file, LOGGER, Data.class);
+        config.setKeepBackup(true);
+        config.set("coins", 100);
+        config.set("coins", 200);
+        Files.delete(file);
+
+        JsonConfig<Data> reopened = new JsonConfig<>(file, LOGGER, Data.class);
+        assertEquals(100, reopened.getData().coins);
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void createsEmptyConfigWithoutBackup() {
+        Path file = directory.resolve("data.json");
+        JsonConfig<Data> config = new JsonConfig<>(file, LOGGER, Data.class);
+
+        assertEquals(0, config.getInt("coins", 0));
+        assertEquals(0, config.getData().coins);
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void sectionsAndKeySetsDoNotChangeConfig() {
+        JsonConfig<Data> config = new JsonConfig<>(directory.resolve("data.json"), LOGGER, Data.class);
+        config.set("players.a.coins", 1);
+
+        config.getSection("players").add("b", new JsonObject());
+        assertThrows(UnsupportedOperationException.class, () -> config.getKeySet("players").remove("a"));
+
+        assertEquals(Set.of("a"), config.getKeySet("players"));
+        assertEquals(1, config.getInt("players.a.coins", 0));
+    }
+}
@@ -0,0 +1,174 @@
+package com.lyttledev.lyttleutils.types;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogStoreTest {
+    private static final Logger LOGGER = Logger.getLogger("LogStoreTest");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysValuesAfterReopen() {
+        Path log = directory.resolve("store.log");
+        LogStore store = new LogStore(log, LOGGER);
+        store.set("players.a.coins", 250);
+        store.set("players.a.name", "Steve \"the\" builder");
+        store.set("players.a.ratio", 0.5);
+        store.set("players.a.online", true);
+        store.set("players.a.homes", List.of("spawn", "base"));
+        store.set("players.b.coins", 10);
+        store.set("players.a.coins", 300);
+        store.update(editor -> editor.set("players.c.coins", 5).remove("players.b.coins"));
+        store.close();
+
+        LogStore reopened = new LogStore(log, LOGGER);
+        assertEquals(300, reopened.getInt("players.a.coins", 0));
+        assertEquals("Steve \"the\" builder", reopened.getString("players.a.name"));
+        assertEquals(0.5, reopened.getDouble("players.a.ratio", 0));
+        assertTrue(reopened.getBoolean("players.a.online", false));
+        assertEquals(List.of("spawn", "base"), reopened.getStringList("players.a.homes"));
+        assertEquals(5, reopened.getInt("players.c.coins", 0));
+        assertFalse(reopened.contains("players.b.coins"));
+        assertNull(reopened.getInt("players.b.coins", (Integer) null));
+        assertEquals(Set.of("players.a.coins", "players.a.homes", "players.a.name", "players.a.online", "players.a.ratio"),
+                reopened.getKeys("players.a."));
+        assertEquals(6, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    void dropsTornTailWithoutBackup() throws IOException {
+        Path log = directory.resolve("store.log");
+        LogStore store = new LogStore(log, LOGGER);
+        for (int i = 0; i < 10; i++) {
+            store.set("key" + i, i);
+        }
+        store.close();
+        // A crash in the middle of the last append
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        LogStore reopened = new LogStore(log, LOGGER);
+        assertEquals(9, reopened.size());
+        assertEquals(8, reopened.getInt("key8", -1));
+        assertFalse(Files.exists(directory.resolve("store.log.corrupt")));
+
+        // The log continues cleanly after the cut
+        reopened.set("key9", 9);
+        reopened.close();
+        LogStore again = new LogStore(log, LOGGER);
+        assertEquals(10, again.size());
+        again.close();
+    }
+
+    @Test
+    void backsUpLogWithCorruptRecord() throws IOException {
+        Path log = directory.resolve("store.log");
+        LogStore store = new LogStore(log, LOGGER);
+        long[] recordEnds = new long[10];
+        for (int i = 0; i < 10; i++) {
+            store.set("key" + i, i);
+            recordEnds[i] = Files.size(log);
+        }
+        store.close();
+        // Flip the last payload byte of the fourth record
+        _flipByte(log, recordEnds[3] - 1);
+        byte[] corrupt = Files.readAllBytes(log);
+
+        LogStore reopened = new LogStore(log, LOGGER);
+        assertEquals(3, reopened.size());
+        assertEquals(2, reopened.getInt("key2", -1));
+        assertEquals(recordEnds[2], Files.size(log));
+
+        Path backup = directory.resolve("store.log.corrupt");
+        assertTrue(Files.exists(backup));
+        assertArrayEquals(corrupt, Files.readAllBytes(backup));
+        reopened.close();
+
+        // A second corrupt log does not overwrite the first copy
+        _flipByte(log, recordEnds[1] - 1);
+        LogStore again = new LogStore(log, LOGGER);
+        assertEquals(1, again.size());
+        again.close();
+        assertTrue(Files.exists(directory.resolve("store.log.corrupt.1")));
+    }
+
+    @Test
+    void compactionKeepsOnlyLiveRecords() throws IOException {
+        Path log = directory.resolve("store.log");
+        LogStore store = new LogStore(log, LOGGER);
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 20; i++) {
+                store.set("key" + i, round * 100 + i);
+            }
+        }
+        store.remove("key0");
+        long before = Files.size(log);
+
+        store.compactAsync().join();
+        assertTrue(Files.size(log) < before / 10, "compacted from " + before + " to " + Files.size(log));
+        assertFalse(Files.exists(directory.resolve("store.log.compact")));
+
+        // Writes after the compaction go to the new log
+        store.set("key1", -1);
+        store.close();
+        LogStore reopened = new LogStore(log, LOGGER);
+        assertEquals(19, reopened.size());
+        assertFalse(reopened.contains("key0"));
+        assertEquals(-1, reopened.getInt("key1", 0));
+        assertEquals(4919, reopened.getInt("key19", 0));
+        reopened.close();
+    }
+
+    @Test
+    void failedLoadReadsDefaultsUntilLoadedAgain() throws IOException {
+        Path log = directory.resolve("store.log");
+        Files.write(log, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        LogStore store = new LogStore(log, LOGGER);
+        assertEquals(-1, store.getInt("key", -1));
+        store.set("key", 1);
+        assertEquals(0, store.size());
+        // The unreadable file is left as it was
+        assertEquals(9, Files.size(log));
+
+        assertThrows(CompletionException.class, () -> store.loadAsync().join());
+
+        Files.delete(log);
+        store.loadAsync().join();
+        store.set("key", 1);
+        assertEquals(1, store.getInt("key", -1));
+        store.close();
+    }
+
+    private static void _flipByte(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.put(0, (byte) (buffer.get(0) ^ 0x55));
+            buffer.rewind();
+            channel.write(buffer, position);
+        }
+    }
+}
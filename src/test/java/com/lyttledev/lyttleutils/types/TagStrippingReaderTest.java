@@ -0,0 +1,107 @@
+package com.lyttledev.lyttleutils.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TagStrippingReaderTest {
+    @Test
+    void stripsTagsToEndOfLine() {
+        assertEquals("value: \nother: 1\n", TagStrippingReader.strip("value: !!java.util.UUID abc\nother: 1\n"));
+        assertEquals("a: \r\nb: \r\n", TagStrippingReader.strip("a: !!int 1\r\nb: !!str x\r\n"));
+    }
+
+    @Test
+    void keepsTagWithNothingAfterIt() {
+        assertEquals("a: !!\nb: !!", TagStrippingReader.strip("a: !!\nb: !!"));
+        assertEquals("a: !\n", TagStrippingReader.strip("a: !\n"));
+        assertEquals("a: ", TagStrippingReader.strip("a: !!!"));
+    }
+
+    @Test
+    void returnsSameInstanceWithoutTags() {
+        String text = "plain: text\n";
+        assertSame(text, TagStrippingReader.strip(text));
+    }
+
+    @Test
+    void reportsWhetherAnythingWasStripped() throws IOException {
+        TagStrippingReader untouched = new TagStrippingReader(new StringReader("a: !!\n"));
+        _readAll(untouched);
+        assertFalse(untouched.hasStripped());
+
+        TagStrippingReader stripped = new TagStrippingReader(new StringReader("a: !!tag\n"));
+        _readAll(stripped);
+        assertTrue(stripped.hasStripped());
+    }
+
+    @Test
+    void handlesTagsAcrossBufferBoundaries() throws IOException {
+        // Put a "!!" on every position around the 8192 character buffer boundary
+        for (int padding = 8185; padding < 8195; padding++) {
+            String text = "x".repeat(padding) + "!!tag\nnext: 1\n";
+            String expected = text.replaceAll("!!.+", "");
+            assertEquals(expected, _readAll(new TagStrippingReader(new StringReader(text))), "padding " + padding);
+            assertEquals(expected, _readAll(new TagStrippingReader(new TrickleReader(text))), "trickled, padding " + padding);
+        }
+    }
+
+    @Test
+    void matchesRegexOnRandomInput() throws IOException {
+        // The reader only ends a tag at \n and \r, so the input uses no other line terminators
+        char[] alphabet = {'a', '!', '!', ' ', '\n', '\r'};
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            char[] chars = new char[random.nextInt(40)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String text = new String(chars);
+            String expected = text.replaceAll("!!.+", "");
+
+            assertEquals(expected, TagStrippingReader.strip(text), "strip of " + text);
+            assertEquals(expected, _readAll(new TagStrippingReader(new TrickleReader(text))), "trickled " + text);
+        }
+    }
+
+    private static String _readAll(Reader reader) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        char[] chunk = new char[3];
+        int read;
+        while ((read = reader.read(chunk, 0, chunk.length)) >= 0) {
+            builder.append(chunk, 0, read);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Hands out one character per read, so every tag straddles a refill.
+     */
+    private static final class TrickleReader extends Reader {
+        private final String text;
+        private int position = 0;
+
+        TrickleReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] target, int offset, int length) {
+            if (position >= text.length()) return -1;
+            if (length == 0) return 0;
+            target[offset] = text.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,231 @@
+package com.lyttledev.lyttleutils.types;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the same sets and removes on a YamlConfig and on a plain MemoryConfiguration, and compares what
+ * both return, so the snapshot overlay of YamlConfig has to behave exactly like Bukkit's own sections.
+ */
+class YamlConfigTest {
+    private static final Logger LOGGER = Logger.getLogger("YamlConfigTest");
+    private static final String[] NAMES = {"a", "b", "c"};
+    private static final String BASE = """
+            a:
+              a: 1
+              b:
+                a: x
+                b:
+                - 1
+                - 2
+            b: 2
+            c:
+              a:
+                a: true
+            """;
+    // Writes stay pending, so the edits pile up in overlays instead of being saved one by one
+    private static final long NO_FLUSH_MILLIS = 3_600_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void setAfterRemoveMovesKeyToEnd() throws IOException {
+        YamlConfig config = _config();
+        MemoryConfiguration reference = _reference();
+
+        _remove(config, reference, "a.a");
+        _set(config, reference, "a.a", 5);
+        _set(config, reference, "a.b.a", "y");
+        _remove(config, reference, "a.b.a");
+        _set(config, reference, "a.b.a", "z");
+
+        assertEquals(List.of("b", "a"), Arrays.asList(config.getKeys("a")));
+        _assertMatches(config, reference);
+    }
+
+    @Test
+    void setOfParentReplacesEditedChildren() throws IOException {
+        YamlConfig config = _config();
+        MemoryConfiguration reference = _reference();
+
+        _set(config, reference, "a.b.a", "y");
+        _set(config, reference, "a.c", 3);
+        _remove(config, reference, "a.b.b");
+        _set(config, reference, "a", Map.of("c", 4));
+        _assertMatches(config, reference);
+
+        // A section again below the replaced value, and a scalar over a section
+        _set(config, reference, "a.b.c", "new");
+        _set(config, reference, "c", "flat");
+        _set(config, reference, "c.b", 1);
+        _assertMatches(config, reference);
+    }
+
+    @Test
+    void keepsMatchingAfterManyEdits() throws IOException {
+        YamlConfig config = _config();
+        MemoryConfiguration reference = _reference();
+
+        // More edits than one overlay holds, spread over new and existing sections
+        for (int i = 0; i < 300; i++) {
+            _set(config, reference, "c.b." + (i % 40), i);
+            if (i % 7 == 0) _remove(config, reference, "c.b." + (i % 11));
+            if (i % 50 == 0) _assertMatches(config, reference);
+        }
+        _assertMatches(config, reference);
+        assertEquals(reference.getKeys(false).size(), config.getKeys("").length);
+    }
+
+    @Test
+    void matchesMemoryConfigurationOnRandomEdits() throws IOException {
+        for (int seed = 0; seed < 40; seed++) {
+            Random random = new Random(seed);
+            Path file = directory.resolve("random-" + seed + ".yml");
+            YamlConfig config = _config(file);
+            MemoryConfiguration reference = _reference();
+
+            for (int step = 0; step < 300; step++) {
+                int operation = random.nextInt(10);
+                if (operation < 4) {
+                    _set(config, reference, _randomPath(random), random.nextInt(5));
+                } else if (operation < 5) {
+                    Map<String, Object> section = new LinkedHashMap<>();
+                    section.put(NAMES[random.nextInt(NAMES.length)], "map");
+                    _set(config, reference, _randomPath(random), section);
+                } else if (operation < 8) {
+                    _remove(config, reference, _randomPath(random));
+                } else {
+                    _update(config, reference, random);
+                }
+                _assertMatches(config, reference);
+            }
+
+            // The saved file holds the same config
+            config.flush();
+            YamlConfig saved = new YamlConfig(file, LOGGER);
+            _assertMatches(saved, YamlConfiguration.loadConfiguration(file.toFile()));
+        }
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Edits
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private YamlConfig _config() throws IOException {
+        return _config(directory.resolve("config.yml"));
+    }
+
+    private static YamlConfig _config(Path file) throws IOException {
+        Files.writeString(file, BASE);
+        YamlConfig config = new YamlConfig(file, LOGGER);
+        config.setWriteBehind(NO_FLUSH_MILLIS);
+        return config;
+    }
+
+    private static MemoryConfiguration _reference() {
+        YamlConfiguration reference = new YamlConfiguration();
+        try {
+            reference.loadFromString(BASE);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return reference;
+    }
+
+    private static void _set(YamlConfig config, MemoryConfiguration reference, String path, Object value) {
+        config.set(path, value);
+        reference.set(path, value);
+    }
+
+    private static void _remove(YamlConfig config, MemoryConfiguration reference, String path) {
+        assertEquals(reference.get(path) != null, config.remove(path), "remove " + path);
+        reference.set(path, null);
+    }
+
+    private static void _update(YamlConfig config, MemoryConfiguration reference, Random random) {
+        List<String> paths = new ArrayList<>();
+        for (int i = random.nextInt(4) + 1; i > 0; i--) {
+            paths.add(_randomPath(random));
+        }
+        int value = random.nextInt(5);
+        config.update(editor -> {
+            for (int i = 0; i < paths.size(); i++) {
+                if (i % 2 == 0) editor.set(paths.get(i), value);
+                else editor.remove(paths.get(i));
+            }
+        });
+        for (int i = 0; i < paths.size(); i++) {
+            reference.set(paths.get(i), i % 2 == 0 ? value : null);
+        }
+    }
+
+    private static String _randomPath(Random random) {
+        StringBuilder path = new StringBuilder(NAMES[random.nextInt(NAMES.length)]);
+        for (int depth = random.nextInt(3); depth > 0; depth--) {
+            path.append('.').append(NAMES[random.nextInt(NAMES.length)]);
+        }
+        return path.toString();
+    }
+
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // UTIL: Compare
+    //////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void _assertMatches(YamlConfig config, ConfigurationSection reference) {
+        assertEquals(_describe(reference), _describe(config.getSection("")), "whole config");
+        for (String path : reference.getKeys(true)) {
+            _assertPathMatches(config, reference, path);
+        }
+        // Paths that do not exist (or no longer exist) must be missing in both
+        for (String first : NAMES) {
+            _assertPathMatches(config, reference, first);
+            for (String second : NAMES) {
+                _assertPathMatches(config, reference, first + "." + second);
+                for (String third : NAMES) {
+                    _assertPathMatches(config, reference, first + "." + second + "." + third);
+                }
+            }
+        }
+    }
+
+    private static void _assertPathMatches(YamlConfig config, ConfigurationSection reference, String path) {
+        Object expected = reference.get(path);
+        assertEquals(_describe(expected), _describe(config.get(path)), "lookup of " + path);
+        assertEquals(_describe(expected instanceof ConfigurationSection ? expected : null), _describe(config.getSection(path)), "section " + path);
+
+        String[] keys = config.getKeys(path);
+        List<String> expectedKeys = expected instanceof ConfigurationSection section ? new ArrayList<>(section.getKeys(false)) : null;
+        assertEquals(expectedKeys, keys != null ? Arrays.asList(keys) : null, "keys of " + path);
+    }
+
+    /**
+     * Describe a value so values from different configs compare equal: sections by their paths and values, in order.
+     */
+    private static Object _describe(Object value) {
+        if (!(value instanceof ConfigurationSection section)) return value;
+
+        List<Object> entries = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : section.getValues(true).entrySet()) {
+            entries.add(entry.getKey());
+            entries.add(entry.getValue() instanceof ConfigurationSection ? "<section>" : entry.getValue());
+        }
+        return entries;
+    }
+}
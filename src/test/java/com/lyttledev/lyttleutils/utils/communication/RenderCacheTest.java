@@ -0,0 +1,82 @@
+package com.lyttledev.lyttleutils.utils.communication;
+
+import com.lyttledev.lyttleutils.types.Message.Replacements;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RenderCacheTest {
+    // A cache of four entries is a single set, so every key competes for the same slots
+    private static final int ONE_SET = 4;
+
+    @Test
+    void returnsStoredComponent() {
+        RenderCache cache = new RenderCache(16);
+        Component component = Component.text("hello");
+        cache.put("message", true, null, component);
+
+        assertSame(component, cache.get("message", true, null));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void keysOnPrefixAndReplacements() {
+        RenderCache cache = new RenderCache(16);
+        Replacements steve = Replacements.builder().add("<PLAYER>", "Steve").build();
+        Replacements alex = Replacements.builder().add("<PLAYER>", "Alex").build();
+        Component withSteve = Component.text("Steve");
+        cache.put("welcome", true, steve, withSteve);
+
+        assertSame(withSteve, cache.get("welcome", true, Replacements.builder().add("<PLAYER>", "Steve").build()));
+        assertNull(cache.get("welcome", true, alex));
+        assertNull(cache.get("welcome", false, steve));
+        assertNull(cache.get("welcome", true, null));
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOfFullSet() {
+        RenderCache cache = new RenderCache(ONE_SET);
+        Component[] components = new Component[ONE_SET + 1];
+        for (int i = 0; i < ONE_SET; i++) {
+            components[i] = Component.text("message " + i);
+            cache.put("message" + i, false, null, components[i]);
+        }
+
+        // Using the oldest entry makes the second one the least recently used
+        assertSame(components[0], cache.get("message0", false, null));
+        components[ONE_SET] = Component.text("message " + ONE_SET);
+        cache.put("message" + ONE_SET, false, null, components[ONE_SET]);
+
+        assertNull(cache.get("message1", false, null));
+        for (int i = 0; i <= ONE_SET; i++) {
+            if (i == 1) continue;
+            assertSame(components[i], cache.get("message" + i, false, null));
+        }
+    }
+
+    @Test
+    void clearAndRemoveKeepCounters() {
+        RenderCache cache = new RenderCache(16);
+        Component leave = Component.text("leave");
+        cache.put("join", true, null, Component.text("join"));
+        cache.put("leave", true, null, leave);
+        cache.put("kick", true, null, Component.text("kick"));
+        cache.get("join", true, null);
+
+        cache.removeKeys(key -> key.equals("join"));
+        assertNull(cache.get("join", true, null));
+        assertSame(leave, cache.get("leave", true, null));
+
+        cache.clear();
+        assertNull(cache.get("leave", true, null));
+        assertNull(cache.get("kick", true, null));
+        assertEquals(2, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+}